@@ -0,0 +1,110 @@
+package com.cripto.bench;
+
+import com.cripto.luov.LUOV;
+import com.cripto.utils.functions.Functions;
+import com.cripto.utils.models.GFMatrix;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * GF(2^7) Arithmetic Benchmarks.
+ * <p>
+ * Single field multiplications and matrix products, both with the integer
+ * matrices of {@link Functions} and with {@link GFMatrix}.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldBenchmark {
+
+    /**
+     * Dimension of the Square Matrices.
+     */
+    @Param({"57", "197"})
+    public int dim;
+
+    private int a;
+    private int b;
+    private int[][] mat1;
+    private int[][] mat2;
+    private GFMatrix gfMat1;
+    private GFMatrix gfMat2;
+
+    /**
+     * Generates the Random Operands.
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(dim);
+        a = 1 + random.nextInt(127);
+        b = 1 + random.nextInt(127);
+        mat1 = new int[dim][dim];
+        mat2 = new int[dim][dim];
+        for (int i = 0; i < dim; i++) {
+            for (int j = 0; j < dim; j++) {
+                mat1[i][j] = random.nextInt(128);
+                mat2[i][j] = random.nextInt(128);
+            }
+        }
+        gfMat1 = GFMatrix.fromArray(mat1);
+        gfMat2 = GFMatrix.fromArray(mat2);
+    }
+
+    /**
+     * One Field Multiplication with Functions.
+     * @return Result, Consumed by JMH.
+     */
+    @Benchmark
+    public int fieldMult() {
+        return Functions.fieldMult(LUOV.FIELD, LUOV.POLY, a, b);
+    }
+
+    /**
+     * Integer Matrix Product with Functions.
+     * @return Result, Consumed by JMH.
+     */
+    @Benchmark
+    public int[][] matrixMult() {
+        return Functions.matrixMult(LUOV.FIELD, LUOV.POLY, mat1, mat2);
+    }
+
+    /**
+     * GFMatrix Product.
+     * @return Result, Consumed by JMH.
+     */
+    @Benchmark
+    public GFMatrix gfMatrixMultiply() {
+        return GFMatrix.multiply(gfMat1, gfMat2, new GFMatrix(dim, dim));
+    }
+
+    /**
+     * GFMatrix Product from every Processor.
+     * @return Result, Consumed by JMH.
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public GFMatrix gfMatrixMultiplyThreads() {
+        return GFMatrix.multiply(gfMat1, gfMat2, new GFMatrix(dim, dim));
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.cripto.bench;
+
+import com.cripto.luov.LuovSigner;
+import com.cripto.luov.utils.PRNG;
+import com.cripto.luov.utils.PrivateKey;
+import com.cripto.luov.utils.PublicMapParts;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.bouncycastle.util.encoders.Hex;
+
+/**
+ * Key Generation Benchmarks.
+ * <p>
+ * The expansion of C, L and Q1 from a public seed, and the whole derivation
+ * of a key pair (public seed, T, C, L, Q1, Q2 and expanded signing key) from
+ * a private seed.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class KeyGenBenchmark {
+
+    private static final byte[] PUBLIC_SEED = Hex.decode(
+            "000102030405060708090a0b0c0d0e0f101112131415161718191a1b1c1d1e1f");
+    private static final PrivateKey PRIVATE_KEY = new PrivateKey(
+            "1f1e1d1c1b1a191817161514131211100f0e0d0c0b0a09080706050403020100");
+
+    /**
+     * Expansion of C, L and Q1 from the Public Seed.
+     * @return Result, Consumed by JMH.
+     */
+    @Benchmark
+    public PublicMapParts generateCLQ1() {
+        return PRNG.generateCLQ1(PUBLIC_SEED);
+    }
+
+    /**
+     * Derivation of a Key Pair from the Private Seed.
+     * @return Result, Consumed by JMH.
+     * @throws java.lang.Exception
+     */
+    @Benchmark
+    public LuovSigner keyGen() throws Exception {
+        return new LuovSigner(PRIVATE_KEY);
+    }
+
+    /**
+     * Key Pair Derivation from every Processor.
+     * @return Result, Consumed by JMH.
+     * @throws java.lang.Exception
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public LuovSigner keyGenThreads() throws Exception {
+        return new LuovSigner(PRIVATE_KEY);
+    }
+
+}
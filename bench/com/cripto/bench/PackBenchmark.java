@@ -0,0 +1,96 @@
+package com.cripto.bench;
+
+import com.cripto.luov.LUOV;
+import com.cripto.luov.utils.PublicKey;
+import com.cripto.utils.functions.Pack;
+import com.cripto.utils.models.GFMatrix;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pack Benchmarks on a Q2 Sized Matrix.
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackBenchmark {
+
+    private static final int ROWS = LUOV.OIL_VAR;
+    private static final int COLUMNS = PublicKey.Q2_COLUMNS;
+
+    private int[][] mat;
+    private GFMatrix gfMat;
+    private String hex;
+    private byte[] bytes;
+
+    /**
+     * Generates a Random Matrix and its Encodings.
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(1);
+        mat = new int[ROWS][COLUMNS];
+        for (int i = 0; i < ROWS; i++) {
+            for (int j = 0; j < COLUMNS; j++) {
+                mat[i][j] = random.nextInt(128);
+            }
+        }
+        gfMat = GFMatrix.fromArray(mat);
+        hex = Pack.pack(mat);
+        bytes = Pack.encode(gfMat);
+    }
+
+    /**
+     * Hex Packing of an Integer Matrix.
+     * @return Result, Consumed by JMH.
+     */
+    @Benchmark
+    public String pack() {
+        return Pack.pack(mat);
+    }
+
+    /**
+     * Hex Unpacking of an Integer Matrix.
+     * @return Result, Consumed by JMH.
+     */
+    @Benchmark
+    public int[][] unpack() {
+        return Pack.unpack(hex, ROWS, COLUMNS);
+    }
+
+    /**
+     * Binary Encoding of a GFMatrix.
+     * @return Result, Consumed by JMH.
+     */
+    @Benchmark
+    public byte[] encode() {
+        return Pack.encode(gfMat);
+    }
+
+    /**
+     * Binary Decoding of a GFMatrix.
+     * @return Result, Consumed by JMH.
+     */
+    @Benchmark
+    public GFMatrix decode() {
+        return Pack.decode(bytes, ROWS, COLUMNS);
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.cripto.bench;
+
+import com.cripto.luov.LuovSigner;
+import com.cripto.luov.utils.PrivateKey;
+import com.cripto.luov.utils.Signature;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Signing Benchmarks across Message Sizes.
+ * <p>
+ * One shared signer, used by one thread or by as many threads as
+ * processors, and a batch of messages signed with signBatch.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignBenchmark {
+
+    /**
+     * Size of the Messages in Characters.
+     */
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    /**
+     * Number of Messages of a Batch.
+     */
+    @Param({"256"})
+    public int batch;
+
+    private LuovSigner signer;
+    private String message;
+    private String[] messages;
+
+    /**
+     * Derives the Signer and Builds the Messages.
+     * @throws java.lang.Exception
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        signer = new LuovSigner(new PrivateKey(
+                "1f1e1d1c1b1a191817161514131211100f0e0d0c0b0a09080706050403020100"));
+        char[] chars = new char[size];
+        Arrays.fill(chars, 'm');
+        message = new String(chars);
+        messages = new String[batch];
+        for (int i = 0; i < batch; i++) {
+            messages[i] = i + message;
+        }
+    }
+
+    /**
+     * Signature of one Message.
+     * @return Result, Consumed by JMH.
+     * @throws java.lang.Exception
+     */
+    @Benchmark
+    public Signature sign() throws Exception {
+        return signer.sign(message);
+    }
+
+    /**
+     * Signature of one Message from every Processor.
+     * @return Result, Consumed by JMH.
+     * @throws java.lang.Exception
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Signature signThreads() throws Exception {
+        return signer.sign(message);
+    }
+
+    /**
+     * Signature of a Batch of Messages.
+     * @return Result, Consumed by JMH.
+     * @throws java.lang.Exception
+     */
+    @Benchmark
+    public Signature[] signBatch() throws Exception {
+        return signer.signBatch(Arrays.asList(messages));
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.cripto.bench;
+
+import com.cripto.luov.LuovSigner;
+import com.cripto.luov.LuovVerifier;
+import com.cripto.luov.utils.PrivateKey;
+import com.cripto.luov.utils.PublicKey;
+import com.cripto.luov.utils.PublicKeyCache;
+import com.cripto.luov.utils.Signature;
+import com.cripto.luov.utils.VerificationRequest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Verification Benchmarks across Message Sizes.
+ * <p>
+ * Verifications with the expanded public map already in the cache (warm),
+ * with a cache that keeps no expanded map (cold, one expansion per call),
+ * from one or many threads, and a batch of requests with verifyBatch.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VerifyBenchmark {
+
+    /**
+     * Size of the Messages in Characters.
+     */
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    /**
+     * Number of Requests of a Batch.
+     */
+    @Param({"1024"})
+    public int batch;
+
+    private PublicKey publicKey;
+    private LuovVerifier verifier;
+    private LuovVerifier coldVerifier;
+    private String message;
+    private Signature signature;
+    private List<VerificationRequest> requests;
+
+    /**
+     * Signs the Messages and Warms the Cache.
+     * @throws java.lang.Exception
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        LuovSigner signer = new LuovSigner(new PrivateKey(
+                "1f1e1d1c1b1a191817161514131211100f0e0d0c0b0a09080706050403020100"));
+        publicKey = signer.getPublicKey();
+        char[] chars = new char[size];
+        Arrays.fill(chars, 'm');
+        message = new String(chars);
+        signature = signer.sign(message);
+        verifier = new LuovVerifier();
+        verifier.verify(publicKey, message, signature);
+        coldVerifier = new LuovVerifier(new PublicKeyCache(0));
+        requests = new ArrayList<>();
+        for (int i = 0; i < batch; i++) {
+            requests.add(new VerificationRequest(publicKey, message, signature));
+        }
+    }
+
+    /**
+     * Verification with a Warm Cache.
+     * @return Result, Consumed by JMH.
+     */
+    @Benchmark
+    public boolean verify() {
+        return verifier.verify(publicKey, message, signature);
+    }
+
+    /**
+     * Verification with a Warm Cache from every Processor.
+     * @return Result, Consumed by JMH.
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean verifyThreads() {
+        return verifier.verify(publicKey, message, signature);
+    }
+
+    /**
+     * Verification Expanding the Public Map.
+     * @return Result, Consumed by JMH.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public boolean verifyCold() {
+        return coldVerifier.verify(publicKey, message, signature);
+    }
+
+    /**
+     * Verification of a Batch of Requests.
+     * @return Result, Consumed by JMH.
+     * @throws java.lang.Exception
+     */
+    @Benchmark
+    public boolean[] verifyBatch() throws Exception {
+        return verifier.verifyBatch(requests);
+    }
+
+}
@@ -0,0 +1,380 @@
+package com.cripto.luov;
+
+import static com.cripto.luov.LUOV.FIELD;
+import com.cripto.luov.utils.ExpandedSigningKey;
+import com.cripto.luov.utils.LuovParameters;
+import com.cripto.luov.utils.PrivateKey;
+import com.cripto.luov.utils.PublicKey;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.zip.CRC32C;
+import org.bouncycastle.util.encoders.Hex;
+
+/**
+ * LUOV Key File Class.
+ * <p>
+ * Binary file format of the keys, big-endian:
+ * </p>
+ * <ul>
+ * <li>Header (16 bytes): magic "LUOV", version, kind (1 private, 2 public),
+ * FIELD, 0, OIL_VAR and VINEGAR_VAR (2 bytes each) and the payload
+ * length (4 bytes).</li>
+ * <li>Public payload: the encoded public key, public seed (32 bytes) and
+ * Q2 packed 7 bits per element.</li>
+ * <li>Private payload: private seed (32 bytes), the public payload and the
+ * matrix F of the expanded signing key packed 7 bits per element.</li>
+ * <li>CRC32C of the header and the payload (4 bytes).</li>
+ * </ul>
+ * <p>
+ * The header names the parameter set of the key, which gives the length of
+ * the payload. Files are read through a memory mapping, so loading a
+ * verifier key costs one pass over ~82 KB (LUOV-7-57-197) and loading a
+ * signer skips the computation of Q2 and F. A private key file is as secret
+ * as the private seed it holds, so files are created readable by their owner
+ * only, and written aside and moved over the old file, so a failed write
+ * never leaves a partial key.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public final class KeyFile {
+
+    /**
+     * Magic Number, "LUOV" in ASCII.
+     */
+    public static final int MAGIC = 0x4C554F56;
+
+    /**
+     * Current Format Version.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Length of the Header.
+     */
+    public static final int HEADER_LENGTH = 16;
+
+    /**
+     * Length of the Checksum.
+     */
+    static final int CHECKSUM_LENGTH = 4;
+
+    private static final int PRIVATE_KEY = 1;
+    private static final int PUBLIC_KEY = 2;
+    private static final int SEED_LENGTH = 32;
+
+    /**
+     * Constructor Method.
+     */
+    private KeyFile() {
+    }
+
+    /**
+     * Write a Public Key File.
+     * @param publicKey Public Key of LUOV Cryptosystem.
+     * @param path File Path, Replaced if it Exists.
+     * @throws java.io.IOException
+     */
+    public static void write(PublicKey publicKey, Path path) throws IOException {
+        write(encode(publicKey), path);
+    }
+
+    /**
+     * Write a Private Key File, with the Key Pair and Expanded Signing Key.
+     * @param signer Signer of the Key Pair.
+     * @param path File Path, Replaced if it Exists.
+     * @throws java.io.IOException
+     */
+    public static void write(LuovSigner signer, Path path) throws IOException {
+        write(encode(signer), path);
+    }
+
+    /**
+     * Read the Public Key of a Public or Private Key File.
+     * @param path File Path.
+     * @return Public Key of LUOV Cryptosystem.
+     * @throws java.io.IOException if the file can not be read or is invalid.
+     */
+    public static PublicKey readPublicKey(Path path) throws IOException {
+        return readPublicKey(map(path), "key file " + path);
+    }
+
+    /**
+     * Read a Private Key File into a Signer.
+     * @param path File Path.
+     * @return Signer of the Stored Key Pair.
+     * @throws java.io.IOException if the file can not be read or is invalid.
+     * @throws java.lang.Exception
+     */
+    public static LuovSigner readSigner(Path path) throws Exception {
+        return readSigner(map(path), "key file " + path);
+    }
+
+    /**
+     * Encode a Public Key File.
+     * @param publicKey Public Key of LUOV Cryptosystem.
+     * @return Buffer with the whole File, Ready to be Read.
+     */
+    static ByteBuffer encode(PublicKey publicKey) {
+        LuovParameters parameters = publicKey.getParameters();
+        ByteBuffer out = header(PUBLIC_KEY, parameters, publicLength(parameters));
+        publicKey.encode(out);
+        return checksum(out);
+    }
+
+    /**
+     * Encode a Private Key File.
+     * @param signer Signer of the Key Pair.
+     * @return Buffer with the whole File, Ready to be Read.
+     */
+    static ByteBuffer encode(LuovSigner signer) {
+        LuovParameters parameters = signer.getParameters();
+        ByteBuffer out = header(PRIVATE_KEY, parameters, privateLength(parameters));
+        out.put(signer.getPrivateKey().getPrivateSeedBytes());
+        signer.getPublicKey().encode(out);
+        signer.getSigningKey().encode(out);
+        return checksum(out);
+    }
+
+    /**
+     * Read the Public Key of an Encoded Public or Private Key File.
+     * @param in Buffer with the whole File.
+     * @param source Description of the File for Error Messages.
+     * @return Public Key of LUOV Cryptosystem.
+     * @throws java.io.IOException if the file is invalid.
+     */
+    static PublicKey readPublicKey(ByteBuffer in, String source) throws IOException {
+        try {
+            int start = in.position();
+            ByteBuffer payload = payload(in, source);
+            if (kind(in, start) == PRIVATE_KEY) {
+                payload.position(payload.position() + SEED_LENGTH);
+            }
+            return PublicKey.decode(parameters(in, start), payload);
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new IOException("Invalid " + source, e);
+        }
+    }
+
+    /**
+     * Read an Encoded Private Key File into a Signer.
+     * @param in Buffer with the whole File.
+     * @param source Description of the File for Error Messages.
+     * @return Signer of the Stored Key Pair.
+     * @throws java.io.IOException if the file is invalid.
+     * @throws java.lang.Exception
+     */
+    static LuovSigner readSigner(ByteBuffer in, String source) throws Exception {
+        try {
+            int start = in.position();
+            ByteBuffer payload = payload(in, source);
+            if (kind(in, start) != PRIVATE_KEY) {
+                throw new IOException("Not a private key in " + source);
+            }
+            byte[] privateSeed = new byte[SEED_LENGTH];
+            payload.get(privateSeed);
+            PublicKey publicKey = PublicKey.decode(parameters(in, start), payload);
+            return new LuovSigner(new PrivateKey(Hex.toHexString(privateSeed)),
+                    publicKey, payload);
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new IOException("Invalid " + source, e);
+        }
+    }
+
+    /**
+     * Get the Payload Length of a Public Key File.
+     * @param parameters Parameter Set of the Key.
+     * @return Public Seed and Packed Q2 Length.
+     */
+    private static int publicLength(LuovParameters parameters) {
+        return PublicKey.encodedLength(parameters);
+    }
+
+    /**
+     * Get the Payload Length of a Private Key File.
+     * @param parameters Parameter Set of the Key.
+     * @return Private Seed, Public Payload and Packed F Length.
+     */
+    private static int privateLength(LuovParameters parameters) {
+        return SEED_LENGTH + publicLength(parameters)
+                + ExpandedSigningKey.encodedLength(parameters);
+    }
+
+    /**
+     * Start a Key File Buffer with its Header.
+     * @param kind Key Kind.
+     * @param parameters Parameter Set of the Key.
+     * @param length Payload Length.
+     * @return Buffer Positioned at the Payload.
+     */
+    private static ByteBuffer header(int kind, LuovParameters parameters, int length) {
+        ByteBuffer out = ByteBuffer.allocate(HEADER_LENGTH + length + CHECKSUM_LENGTH);
+        out.putInt(MAGIC);
+        out.put((byte) VERSION);
+        out.put((byte) kind);
+        out.put((byte) FIELD);
+        out.put((byte) 0);
+        out.putShort((short) parameters.getOilVar());
+        out.putShort((short) parameters.getVinegarVar());
+        out.putInt(length);
+        return out;
+    }
+
+    /**
+     * Append the Checksum to a Key File Buffer.
+     * @param out Buffer Filled up to the Checksum.
+     * @return Buffer Flipped, Ready to be Read.
+     */
+    private static ByteBuffer checksum(ByteBuffer out) {
+        CRC32C crc = new CRC32C();
+        crc.update(out.array(), 0, out.position());
+        out.putInt((int) crc.getValue());
+        out.flip();
+        return out;
+    }
+
+    /**
+     * Write an Encoded Key File.
+     * <p>
+     * The file is written to a temporary file in the same directory, forced
+     * to disk and then atomically moved over the path.
+     * </p>
+     * @param out Buffer with the whole File.
+     * @param path File Path, Replaced if it Exists.
+     * @throws java.io.IOException
+     */
+    private static void write(ByteBuffer out, Path path) throws IOException {
+        Path target = path.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(),
+                "." + target.getFileName(), ".tmp", ownerOnly(target.getParent()));
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (out.hasRemaining()) {
+                    channel.write(out);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Get the Attributes of a File Readable and Writable by its Owner only.
+     * @param directory Directory of the File.
+     * @return Owner only Permissions, or none if the File System has no
+     * POSIX Permissions.
+     */
+    static FileAttribute<?>[] ownerOnly(Path directory) {
+        if (!directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return new FileAttribute<?>[0];
+        }
+        return new FileAttribute<?>[] {
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))
+        };
+    }
+
+    /**
+     * Map a Key File in Memory.
+     * @param path File Path.
+     * @return Read Only Buffer of the whole File.
+     * @throws java.io.IOException
+     */
+    private static ByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_LENGTH + CHECKSUM_LENGTH || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid key file " + path);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    /**
+     * Get the Parameter Set of a Key File Header Checked by payload.
+     * @param in Buffer of the whole File.
+     * @param start Index of the Header.
+     * @return Parameter Set of the Key.
+     */
+    private static LuovParameters parameters(ByteBuffer in, int start) {
+        return new LuovParameters(in.getShort(start + 8), in.getShort(start + 10));
+    }
+
+    /**
+     * Get the Key Kind of a Key File Header Checked by payload.
+     * @param in Buffer of the whole File.
+     * @param start Index of the Header.
+     * @return Key Kind.
+     */
+    private static int kind(ByteBuffer in, int start) {
+        return in.get(start + 5);
+    }
+
+    /**
+     * Check the Header and Checksum of a Key File.
+     * <p>
+     * The parameter set of the header gives the expected payload length. The
+     * given buffer is left untouched.
+     * </p>
+     * @param file Buffer of the whole File, from its Position to its Limit.
+     * @param source Description of the File for Error Messages.
+     * @return View of the Payload, Sharing the Indexes of the File Buffer.
+     * @throws java.io.IOException if the file is invalid.
+     */
+    private static ByteBuffer payload(ByteBuffer file, String source) throws IOException {
+        if (file.remaining() < HEADER_LENGTH + CHECKSUM_LENGTH) {
+            throw new IOException("Invalid " + source);
+        }
+        ByteBuffer in = file.duplicate();
+        int start = in.position();
+        int end = in.limit() - CHECKSUM_LENGTH;
+        CRC32C crc = new CRC32C();
+        crc.update(in.duplicate().limit(end));
+        if ((int) crc.getValue() != in.getInt(end)) {
+            throw new IOException("Key file checksum mismatch");
+        }
+        if (in.getInt() != MAGIC) {
+            throw new IOException("Not a LUOV key file");
+        }
+        int version = in.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported key file version " + version);
+        }
+        int kind = in.get();
+        int field = in.get();
+        int reserved = in.get();
+        int oil = in.getShort();
+        int vinegar = in.getShort();
+        String name = "LUOV-" + field + "-" + oil + "-" + vinegar;
+        if (field != FIELD || reserved != 0) {
+            throw new IOException("Unsupported key file parameters " + name);
+        }
+        LuovParameters parameters;
+        try {
+            parameters = new LuovParameters(oil, vinegar);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unsupported key file parameters " + name, e);
+        }
+        int length = in.getInt();
+        if ((kind != PRIVATE_KEY || length != privateLength(parameters))
+                && (kind != PUBLIC_KEY || length != publicLength(parameters))
+                || HEADER_LENGTH + length != end - start) {
+            throw new IOException("Invalid key file length");
+        }
+        in.limit(end);
+        return in;
+    }
+
+}
@@ -1,26 +1,29 @@
 
 package com.cripto.luov;
 
-import com.cripto.luov.utils.PRNG;
-import com.cripto.luov.utils.SecretMap;
-import com.cripto.utils.functions.Functions;
 import com.cripto.luov.utils.KeyPair;
-import com.cripto.luov.utils.LinearTransformation;
+import com.cripto.luov.utils.LuovMetrics;
+import com.cripto.luov.utils.LuovParameters;
+import com.cripto.luov.utils.PRNG;
 import com.cripto.luov.utils.PrivateKey;
 import com.cripto.luov.utils.PublicKey;
-import com.cripto.luov.utils.PublicMapParts;
+import com.cripto.luov.utils.PublicKeyCache;
+import com.cripto.luov.utils.SecretMap;
 import com.cripto.luov.utils.Signature;
-import com.cripto.utils.functions.Pack;
-import java.math.BigInteger;
-import java.util.Arrays;
-import org.bouncycastle.crypto.engines.AESEngine;
-import org.bouncycastle.crypto.engines.DESEngine;
-import org.bouncycastle.crypto.params.DESParameters;
-import org.bouncycastle.crypto.params.KeyParameter;
+import com.cripto.luov.utils.VerificationRequest;
+import com.cripto.utils.models.GFMatrix;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import org.bouncycastle.crypto.digests.KeccakDigest;
 import org.bouncycastle.util.encoders.Hex;
 
 /**
  * LUOV Cryptosystem Class
+ * <p>
+ * Generates a fresh key pair and signs and verifies with it through an 
+ * immutable {@link LuovSigner} and {@link LuovVerifier}. Those can also be 
+ * used on their own and shared between threads.
+ * </p>
  * @author Eduardo Angulo
  * @author Sebastián Cabarcas
  * @author Andrés Duarte
@@ -34,43 +37,69 @@ public class LUOV {
     public static final int OIL_VAR = 57;
     public static final int VINEGAR_VAR = 197;
     
-    private KeyPair keyPair;
-    private SecretMap secretMap;
+    private final KeyPair keyPair;
+    private final SecretMap secretMap;
     
-    private PrivateKey privateKey;
-    public PublicKey publicKey;
-    private LinearTransformation linearTrans;
-    private PublicMapParts publicMapParts;
+    private final LuovSigner signer;
+    private final LuovVerifier verifier;
     
     /**
      * Constructor Method.
      * @throws java.lang.Exception
      */
     public LUOV() throws Exception {
-        System.out.println("Initializing LUOV Cryptosystem...");
-        this.secretMap = new SecretMap();
-        this.keyGen();
-        System.out.println("LUOV Cryptosystem Successfully Initialized");
+        this(new PublicKeyCache());
     }
     
     /**
-     * Generates a Key Pair (Private Key, Public Key).
+     * Constructor Method.
      * <p>
+     * Generates a Key Pair (Private Key, Public Key).
      * Private Key = private_seed.
-     * </p>
-     * <p>
      * Public Key = (publicSeed, Q2).
      * </p>
+     * @param publicKeyCache Cache of Expanded Public Maps used by verify.
      * @throws java.lang.Exception
      */
-    private void keyGen() throws Exception {
-        this.privateKey = new PrivateKey(generatePrivateSeed());
-        String publicSeed = generatePublicSeed(privateKey);
-        this.linearTrans = generateLinearTransformation(privateKey);
-        this.publicMapParts = PRNG.generateCLQ1(publicSeed);
-        String Q2 = Pack.pack(findQ2(publicMapParts.getQ1Matrix(), linearTrans));
-        this.publicKey = new PublicKey(publicSeed, Q2);
-        this.keyPair = new KeyPair(privateKey, publicKey);
+    public LUOV(PublicKeyCache publicKeyCache) throws Exception {
+        System.out.println("Initializing LUOV Cryptosystem...");
+        this.secretMap = new SecretMap();
+        this.signer = new LuovSigner(new PrivateKey(generatePrivateSeed()));
+        this.verifier = new LuovVerifier(publicKeyCache);
+        this.keyPair = new KeyPair(signer.getPrivateKey(), signer.getPublicKey());
+        System.out.println("LUOV Cryptosystem Successfully Initialized");
+    }
+    
+    /**
+     * Get the Public Key of the Generated Key Pair.
+     * @return Public Key of LUOV Cryptosystem.
+     */
+    public PublicKey getPublicKey() {
+        return signer.getPublicKey();
+    }
+    
+    /**
+     * Get the Signer of the Generated Key Pair.
+     * @return Thread Safe Signer.
+     */
+    public LuovSigner getSigner() {
+        return signer;
+    }
+    
+    /**
+     * Get the Verifier.
+     * @return Thread Safe Verifier.
+     */
+    public LuovVerifier getVerifier() {
+        return verifier;
+    }
+    
+    /**
+     * Get the Cache of Expanded Public Maps used by verify.
+     * @return Public Key Cache.
+     */
+    public PublicKeyCache getPublicKeyCache() {
+        return verifier.getPublicKeyCache();
     }
     
     /**
@@ -91,312 +120,143 @@ public class LUOV {
     }
     
     /**
-     * Generates a pseudo random public seed using DES Engine.
-     * <p>
- publicSeed = Des_k1(k2)||Des_k2(k4)||Des_k3(k1)||Des_k4(k3)
- being ki = private_seed[8*i:8*(i+1)].
- </p>
-     * @param privateKey Private seed of LUOV cryptosystem.
-     * @return Hex String corresponding to the Public Seed.
-     * @throws java.lang.Exception 
+     * Generates the Quadratic Part of Secrets Polynomials.
+     * @param T linearTrans matrix.
+     * @param Pk1 Pk1 Matrix (Quadratic in Vinegar Vars).
+     * @param Pk2 Pk2 Matrix (Bilineal in Oil and Vinegar Vars).
+     * @return Matrix that represents the Quadratic Part of a Secret Polynomial.
      */
-    private String generatePublicSeed(PrivateKey privateKey) throws Exception {
-        byte[] initKey = privateKey.getPrivateSeedBytes();
-        DESEngine des = new DESEngine();
-        String public_seed = "";
-        for (int i = 0; i < 4; i++) {
-            int ciphIndex = 2*(i+1) % 5 - 1;
-            byte[] partialKey = Arrays.copyOfRange(initKey, 8*i, 8*(i+1));
-            des.init(true, new DESParameters(partialKey));
-            byte[] ciphData = Arrays.copyOfRange(initKey, 8*ciphIndex, 8*(ciphIndex+1));
-            byte[] ciphResult = new byte[8];
-            des.processBlock(ciphData, 0, ciphResult, 0);
-            public_seed += Hex.toHexString(ciphResult);
-        }
-        return public_seed;
+    private GFMatrix generateSecretPoly(GFMatrix T, GFMatrix Pk1, GFMatrix Pk2) {
+        int N = OIL_VAR + VINEGAR_VAR;
+        GFMatrix result = new GFMatrix(N, N);
+        result.slice(0, 0, VINEGAR_VAR, VINEGAR_VAR).copyFrom(Pk1);
+        GFMatrix part2 = result.slice(0, VINEGAR_VAR, VINEGAR_VAR, OIL_VAR);
+        GFMatrix.multiply(Pk1, T, part2).addInPlace(Pk2);
+        GFMatrix.multiply(T.transpose(), Pk1, 
+                result.slice(VINEGAR_VAR, 0, OIL_VAR, VINEGAR_VAR));
+        return result;
     }
     
     /**
-     * Generates a pseudo random linearTrans matrix using AES Engine.
-     * @param privateKey Private seed of LUOV cryptosystem.
-     * @return linearTrans matrix String.
-     * @throws java.lang.Exception 
+     * Sign the given Message.
+     * @param M Message to be Signed.
+     * @return Message Signature (s, salt).
+     * @throws java.lang.Exception
      */
-    private LinearTransformation generateLinearTransformation(PrivateKey privateKey) throws Exception {
-        String T = "";
-        byte[] initKey = privateKey.getPrivateSeedBytes();
-        byte[] partialKey1 = Arrays.copyOfRange(initKey, 0, 16);
-        byte[] partialKey2 = Arrays.copyOfRange(initKey, 16, 32);
-        AESEngine aes1 = new AESEngine();
-        AESEngine aes2 = new AESEngine();
-        aes1.init(true, new KeyParameter(partialKey2));
-        aes2.init(true, new KeyParameter(partialKey1));
-        byte[] ciphData1 = Arrays.copyOfRange(initKey, 0, 16);
-        byte[] ciphData2 = Arrays.copyOfRange(initKey, 16, 32);
-        for (int i = 0; i < (int) (VINEGAR_VAR/4); i++) {
-            byte[] ciphResult1 = new byte[16];
-            byte[] ciphResult2 = new byte[16];
-            aes1.processBlock(ciphData1, 0, ciphResult1, 0);
-            aes2.processBlock(ciphData2, 0, ciphResult2, 0);
-            ciphData1 = Arrays.copyOf(ciphResult1, ciphResult1.length);
-            ciphData2 = Arrays.copyOf(ciphResult2, ciphResult2.length);
-            ciphResult1[0] = (byte) (Math.abs((int) ciphResult1[0] % 2));
-            ciphResult1[8] = (byte) (Math.abs((int) ciphResult1[8] % 2));
-            ciphResult2[0] = (byte) (Math.abs((int) ciphResult2[0] % 2));
-            ciphResult2[8] = (byte) (Math.abs((int) ciphResult2[8] % 2));
-            T += Hex.toHexString(ciphResult1);
-            T += Hex.toHexString(ciphResult2);
-        }
-        byte[] ciphResult = new byte[16];
-        if(initKey[0] < 0) {
-            aes1.processBlock(ciphData2, 0, ciphResult, 0);
-        }else {
-            aes2.processBlock(ciphData1, 0, ciphResult, 0);
-        }
-        ciphResult[0] = (byte) (Math.abs((int) ciphResult[0] % 2));
-        T += Hex.toHexString(Arrays.copyOfRange(ciphResult, 0, 8));
-        return new LinearTransformation(T);
+    public Signature sign(String M) throws Exception {
+        return signer.sign(M);
     }
     
     /**
-     * Calculates the second part of the quadratic part of the Public Map.
-     * @param Q1 Matrix Q1.
-     * @param T Matrix LinearTrans.
-     * @return Q2 Matrix
+     * Sign a Batch of Messages using the Common ForkJoin Pool.
+     * @param messages Messages to be Signed.
+     * @return Message Signatures, in the same Order.
+     * @throws java.lang.Exception
      */
-    private int[][] findQ2(int[][] Q1, LinearTransformation linearTrans) {
-        int DIM = OIL_VAR*(OIL_VAR + 1)/2;
-        int[][] T = linearTrans.getTMatrix();
-        int[][] Q2 = new int[OIL_VAR][DIM];
-        for (int k = 0; k < OIL_VAR; k++) {
-            int[][] Pk1 = findPk1(k, Q1);
-            int[][] Pk2 = findPk2(k, Q1);
-            int[][] Pk3 = findPk3(T, Pk1, Pk2);
-            int column = 0;
-            for (int i = 0; i < OIL_VAR; i++) {
-                Q2[k][column] = Pk3[i][i];
-                column++;
-                for (int j = i+1; j < OIL_VAR; j++) {
-                    Q2[k][column] = Functions.XOR(Pk3[i][j], Pk3[j][i]);
-                    column++;
-                }
-            }
-        }
-        return Q2;
+    public Signature[] signBatch(Collection<String> messages) throws Exception {
+        return signer.signBatch(messages);
     }
     
     /**
-     * Calculates the part of Pk that is quadratic in vinegar variables.
-     * @param k Iteration Number.
-     * @param Q1 Integer GF(2^7) Q1 Matrix (Quadratic part of Public Map). 
-     * @return Pk part Pk1.
+     * Sign a Batch of Messages using the Given Executor.
+     * @param messages Messages to be Signed.
+     * @param executor Executor that runs the Signatures.
+     * @return Message Signatures, in the same Order.
+     * @throws java.lang.Exception
      */
-    private int[][] findPk1(int k, int[][] Q1) {
-        int[][] Pk1 = new int[VINEGAR_VAR][VINEGAR_VAR];
-        int column = 0;
-        for (int i = 0; i < VINEGAR_VAR; i++) {
-            for (int j = i; j < VINEGAR_VAR; j++) {
-                Pk1[i][j] = Q1[k][column];
-                column++;
-            }
-            column += OIL_VAR;
-        }
-        return Pk1;
+    public Signature[] signBatch(Collection<String> messages, 
+            ExecutorService executor) throws Exception {
+        return signer.signBatch(messages, executor);
     }
     
     /**
-     * Calculates the part of Pk that is bilinear in vinegar and oil variables.
-     * @param k Iteration Number.
-     * @param Q1 Integer GF(2^7) Q1 Matrix (Quadratic part of Public Map).
-     * @return Pk part Pk2.
+     * Verify if a Signature (s, salt) is Valid for a Message M.
+     * @param publicKey Public Key used for Verification.
+     * @param M Message to be Verified.
+     * @param sign Sign to be Verified.
+     * @return Verification of a Signature P(s) == h.
+     * @throws java.lang.Exception     
      */
-    private int[][] findPk2(int k, int[][] Q1) {
-        int[][] Pk2 = new int[VINEGAR_VAR][OIL_VAR];
-        int column = 0;
-        for (int i = 0; i < VINEGAR_VAR; i++) {
-            column +=  (VINEGAR_VAR - (i+1) + 1);
-            for (int j = 0; j < OIL_VAR; j++) {
-                Pk2[i][j] = Q1[k][column];
-                column++;
-            }
-        }
-        return Pk2;
+    public boolean verify(PublicKey publicKey, String M, Signature sign) throws Exception {
+        return verifier.verify(publicKey, M, sign);
     }
     
     /**
-     * Calculates the last part of Pk using the formula 
-     * Pk3 = -Tt*Pk1*linearTrans + Tt*Pk2 over GF(2^7).
-     * @param T linearTrans Matrix.
-     * @param Pk1 Pk1 Matrix.
-     * @param Pk2 Pk2 Matrix.
-     * @return Pk part Pk3.
+     * Verify a Batch of Signatures using the Common ForkJoin Pool.
+     * @param requests Verification Requests.
+     * @return Verification of each Request, in the same Order.
+     * @throws java.lang.Exception
      */
-    private int[][] findPk3(int[][] T, int[][] Pk1, int[][] Pk2) {
-        int[][] T_transposed = Functions.transposeMatrix(T);
-        int[][] first = Functions.matrixMult(FIELD, POLY,
-                Functions.matrixMult(FIELD, POLY, T_transposed, Pk1), T);
-        int[][] second = Functions.matrixMult(FIELD, POLY, T_transposed, Pk2);
-        int[][] Pk3 = Functions.matrixAdd(first, second);
-        return Pk3;
+    public boolean[] verifyBatch(Collection<VerificationRequest> requests) throws Exception {
+        return verifier.verifyBatch(requests);
     }
     
     /**
-     * Generates the Quadratic Part of Secrets Polynomials.
-     * @param T linearTrans matrix.
-     * @param Pk1 Pk1 Matrix (Quadratic in Vinegar Vars).
-     * @param Pk2 Pk2 Matrix (Bilineal in Oil and Vinegar Vars).
-     * @return Matrix that represents the Quadratic Part of a Secret Polynomial.
+     * Verify a Batch of Signatures using the Given Executor.
+     * @param requests Verification Requests.
+     * @param executor Executor that runs the Verifications.
+     * @return Verification of each Request, in the same Order.
+     * @throws java.lang.Exception
      */
-    private int[][] generateSecretPoly(int[][] T, int[][] Pk1, int[][] Pk2) {
-        int[][] T_transposed = Functions.transposeMatrix(T);
-        int[][] part2 = Functions.matrixAdd(Functions.matrixMult(FIELD, POLY, 
-                Pk1, T), Pk2);
-        int[][] part3 = Functions.matrixMult(FIELD, POLY, T_transposed, Pk1);
-        int[][] part4 = Functions.sameValueMatrix(OIL_VAR, OIL_VAR, 0);
-        int[][] upper = Functions.matrixColumnUnion(Pk1, part2);
-        int[][] lower = Functions.matrixColumnUnion(part3, part4);
-        return Functions.matrixRowUnion(upper, lower);
+    public boolean[] verifyBatch(Collection<VerificationRequest> requests, 
+            ExecutorService executor) throws Exception {
+        return verifier.verifyBatch(requests, executor);
     }
     
     /**
-     * Generates the int Message Vector over GF(2^r) from the message byte array
-     * after hashing.
-     * @param msg Byte Array of the Message after hashing.
+     * Calculates the Hashed Message Vector h = Hash(M||0x00||salt).
+     * @param parameters Parameter Set of the Key.
+     * @param M Message.
+     * @param salt Salt Bytes.
      * @return Message Vector over GF(2^r).
      */
-    private int[][] buildMessageVector(byte[] msg) {
-        int[][] msgVector = new int[OIL_VAR][1];
-        String bitString = Functions.padding((new BigInteger(
-                Hex.toHexString(msg), 16)).toString(2), FIELD*OIL_VAR);
-        for (int i = 0; i < OIL_VAR; i++) {
-            String bits = bitString.substring(FIELD*i, FIELD*(i+1));
-            msgVector[i][0] = (new BigInteger(bits, 2)).intValue();
-        }
-        return msgVector;
+    static GFMatrix hashMessage(LuovParameters parameters, String M, byte[] salt) {
+        long start = LuovMetrics.start();
+        byte[] msg = M.getBytes();
+        KeccakDigest digest = PRNG.newHashDigest();
+        digest.update(msg, 0, msg.length);
+        GFMatrix h = hashMessage(parameters, digest, salt);
+        LuovMetrics.record(LuovMetrics.Stage.HASH, start);
+        return h;
     }
     
     /**
-     * Builds the Augmented Matrix for the Equation System to solve.
-     * @param C C Matrix.
-     * @param L L Matrix.
-     * @param Q1 Q1 Matrix.
-     * @param T LinearTrans Matrix.
-     * @param h Int Message Vector over GF(2^r).
-     * @param v Random Assign for Vinegar Vars.
-     * @return Augmneted Matrix (LHS||RHS).
-     */
-    private int[][] buildAugmentedMatrix(int[][] C, int[][] L, int[][] Q1, int[][] T, int[][] h, int[][] v) {
-        int[][] RHS = Functions.matrixAdd(Functions.matrixAdd(h, C), 
-                Functions.matrixMult(FIELD, POLY, L, 
-                        Functions.matrixRowUnion(v, 
-                                Functions.sameValueMatrix(OIL_VAR, 1, 0))));
-        int[][] LHS = Functions.matrixMult(FIELD, POLY, L, 
-                Functions.matrixRowUnion(T, Functions.identityMatrix(OIL_VAR)));
-        for (int k = 0; k < OIL_VAR; k++) {
-            int[][] Pk1 = findPk1(k, Q1);
-            int[][] Pk2 = findPk2(k, Q1);
-            int[][] temp1 = Functions.matrixMult(FIELD, POLY, 
-                    Functions.matrixMult(FIELD, POLY, 
-                            Functions.transposeMatrix(v), Pk1), v);
-            RHS[k][0] = Functions.XOR(RHS[k][0], temp1[0][0]);
-            int[][] Fk2 = Functions.matrixAdd(Functions.matrixMult(FIELD, POLY, 
-                    Functions.matrixAdd(Pk1, Functions.transposeMatrix(Pk1)), T), Pk2);
-            int[][] temp2 = Functions.matrixMult(FIELD, POLY, 
-                    Functions.transposeMatrix(v), Fk2);
-            LHS[k] = Functions.vectorAdd(LHS[k], temp2[0]);
-        }
-        return Functions.matrixColumnUnion(LHS, RHS);
-    }
-    
-    /**
-     * Sign the given Message.
-     * @param M Message to be Signed.
-     * @return Message Signature (s, salt).
-     * @throws java.lang.Exception
+     * Calculates h = Hash(M||0x00||salt) from a Digest that has Absorbed M.
+     * @param parameters Parameter Set of the Key.
+     * @param digest Digest of PRNG.newHashDigest that has Absorbed M.
+     * @param salt Salt Bytes.
+     * @return Message Vector over GF(2^r).
      */
-    public Signature sign(String M) throws Exception {
-        boolean solutionFound = false;
-        int[][] s_prime = null;
-        byte[] zero = {0};
-        byte[] salt = PRNG.randomBytes(16);
-        byte[] finalMsg = Functions.concatenateVectors(
-                Functions.concatenateVectors(M.getBytes(), zero), salt);
-        byte[] hashedMsg = PRNG.getHashDigest(finalMsg, FIELD*OIL_VAR); 
-        int[][] h = buildMessageVector(hashedMsg);
-        while(!solutionFound) {
-            byte[] vinegarAssign = PRNG.randomBytes(VINEGAR_VAR);
-            int[][] v = Functions.bytesToFieldVector(vinegarAssign);
-            int[][] A = buildAugmentedMatrix(publicMapParts.getCMatrix(), 
-                    publicMapParts.getLMatrix(), publicMapParts.getQ1Matrix(), 
-                    linearTrans.getTMatrix(), h, v);
-            int[] oVect = Functions.gaussianElimination(FIELD, POLY, 
-                            Functions.equationCoeficients(A), 
-                            Functions.equationConstants(A));
-            if(oVect != null) {
-                int[][] o = Functions.transposeRowVector(oVect);
-                solutionFound = true;
-                s_prime = Functions.matrixRowUnion(v, o);
-            }
-        }
-        int[][] s = Functions.matrixMult(FIELD, POLY, 
-                linearTrans.buildLinearTransMatrix(), s_prime);
-        return new Signature(Pack.pack(s), Hex.toHexString(salt));
+    static GFMatrix hashMessage(LuovParameters parameters, KeccakDigest digest, 
+            byte[] salt) {
+        int oil = parameters.getOilVar();
+        digest.update((byte) 0);
+        digest.update(salt, 0, salt.length);
+        return buildMessageVector(PRNG.getHashDigest(digest, FIELD*oil), oil);
     }
     
     /**
-     * Calculates the Evaluation of s in the Public Map P.
+     * Generates the Message Vector over GF(2^r) from the message byte array
+     * after hashing.
      * <p>
-     * For a Given Signature s, calculates P(s) = C + L(s) + Q(s), 
-     * with Q = (Q1||Q2).
+     * The last FIELD*OIL_VAR bits of the digest are read big-endian, FIELD 
+     * bits per element.
      * </p>
-     * @param publicKey Public Key used for Verification.
-     * @param s s Signature Matrix.
-     * @return Evaluation of s in the Public Map P, i.e. P(s).
+     * @param msg Byte Array of the Message after hashing.
+     * @param oil Number of Oil Variables (Elements of the Vector).
+     * @return Message Vector over GF(2^r).
      */
-    private int[][] evaluatePublicMap(PublicKey publicKey, int[][] s) {
-        int N = OIL_VAR + VINEGAR_VAR;
-        int[][] C = publicMapParts.getCMatrix();
-        int[][] L = publicMapParts.getLMatrix();
-        int[][] Q1 = publicMapParts.getQ1Matrix();
-        int[][] Q2 = publicKey.getQ2Matrix();
-        int[][] Q = Functions.matrixColumnUnion(Q1, Q2);
-        int[][] e = Functions.matrixAdd(C, Functions.matrixMult(FIELD, POLY, L, s));
-        int column = 0;
-        for (int i = 0; i < N; i++) {
-            for (int j = i; j < N; j++) {
-                for (int k = 0; k < OIL_VAR; k++) {
-                    e[k][0] = Functions.XOR(e[k][0], 
-                            Functions.fieldMult(FIELD, POLY, 
-                                    Functions.fieldMult(FIELD, POLY, 
-                                            Q[k][column], s[i][0]), s[j][0]));
-                }
-                column++;
+    private static GFMatrix buildMessageVector(byte[] msg, int oil) {
+        GFMatrix msgVector = new GFMatrix(oil, 1);
+        int bit = 8*msg.length - FIELD*oil;
+        for (int i = 0; i < oil; i++) {
+            int value = 0;
+            for (int b = 0; b < FIELD; b++, bit++) {
+                value = (value << 1) | ((msg[bit >>> 3] >>> (7 - (bit & 7))) & 1);
             }
+            msgVector.set(i, 0, value);
         }
-        return e;
-    }
-    
-    /**
-     * Verify if a Signature (s, salt) is Valid for a Message M.
-     * <p>
-     * For a signature (s, salt) verify if the Public Map (P) evaluated in s is
-     * equal to Hashed Message M, i.e. P(s) == [h = Hash(M||0x00||salt)].
-     * </p>
-     * @param publicKey Public Key used for Verification.
-     * @param M Message to be Verified.
-     * @param sign Sign to be Verified.
-     * @return Verification of a Signature P(s) == h.
-     * @throws java.lang.Exception     
-     */
-    public boolean verify(PublicKey publicKey, String M, Signature sign) throws Exception {
-        byte[] zero = {0};
-        byte[] salt = sign.getSaltBytes();
-        byte[] finalMsg = Functions.concatenateVectors(
-                Functions.concatenateVectors(M.getBytes(), zero), salt);
-        byte[] hashedMsg = PRNG.getHashDigest(finalMsg, FIELD*OIL_VAR); 
-        int[][] h = buildMessageVector(hashedMsg);
-        int[][] e = evaluatePublicMap(publicKey, sign.getSMatrix());
-        return Functions.matrixEquals(e, h);
+        return msgVector;
     }
     
 }
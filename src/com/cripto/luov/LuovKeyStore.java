@@ -0,0 +1,600 @@
+package com.cripto.luov;
+
+import com.cripto.luov.utils.PublicKey;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LUOV Key Store Class.
+ * <p>
+ * Persistent store of many keys, each under a key id, in a directory:
+ * </p>
+ * <ul>
+ * <li>Segment files ({@code segment-NNNNN.luov}), only ever appended. Every
+ * record holds its key id, the fingerprint of its public key and the key
+ * in the {@link KeyFile} format: a key pair with its expanded signing key,
+ * or a public key alone.</li>
+ * <li>An index file ({@code index.luov}): an open addressing hash table
+ * from key ids and fingerprints to records, used through a memory mapping.
+ * It is rebuilt with twice the slots when it is 3/4 full.</li>
+ * </ul>
+ * <p>
+ * Opening a store only maps the index, and a lookup probes a few slots and
+ * maps a single record, so startup time and memory depend on the keys
+ * actually used and not on the size of the store. Lookups take no lock and
+ * can run in any number of threads while keys are added; a slot is
+ * published to them only after its record is written. A store opened for
+ * writing holds a file lock on the directory; read only stores, which any
+ * number of processes can open, may miss the keys added after they were
+ * opened. The directory and its files are created accessible by their
+ * owner only, since records may hold private seeds.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public final class LuovKeyStore implements Closeable {
+
+    /**
+     * Maximum Length of a Segment File.
+     */
+    public static final long SEGMENT_LIMIT = 1L << 30;
+
+    /**
+     * Length of a Public Key Fingerprint.
+     */
+    public static final int FINGERPRINT_LENGTH = 32;
+
+    private static final int INDEX_MAGIC = 0x4C4B5349;
+    private static final int INDEX_VERSION = 1;
+    private static final int INDEX_HEADER = 32;
+    private static final int SLOT_LENGTH = 24;
+    private static final int INITIAL_SLOTS = 1 << 10;
+    private static final byte ID_ENTRY = 1;
+    private static final byte FINGERPRINT_ENTRY = 2;
+    private static final String INDEX_FILE = "index.luov";
+    private static final String LOCK_FILE = "lock";
+    private static final int RECORD_MINIMUM = 2 + FINGERPRINT_LENGTH + 4;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final Path directory;
+    private final boolean readOnly;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final ConcurrentHashMap<Integer, FileChannel> segments =
+            new ConcurrentHashMap<>();
+    private volatile MappedByteBuffer index;
+    private int segment;
+    private long segmentLength;
+
+    /**
+     * Constructor Method.
+     * @param directory Store Directory.
+     * @param readOnly Open without Writing?
+     * @throws java.io.IOException
+     */
+    private LuovKeyStore(Path directory, boolean readOnly) throws IOException {
+        this.directory = directory;
+        this.readOnly = readOnly;
+        if (readOnly) {
+            this.lockChannel = null;
+            this.lock = null;
+        } else {
+            Files.createDirectories(directory, ownerOnlyDirectory(directory));
+            this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE),
+                    EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.WRITE),
+                    KeyFile.ownerOnly(directory));
+            FileLock acquired;
+            try {
+                acquired = lockChannel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                acquired = null;
+            }
+            this.lock = acquired;
+            if (lock == null) {
+                lockChannel.close();
+                throw new IOException("Key store " + directory + " is in use");
+            }
+        }
+        try {
+            Path indexPath = directory.resolve(INDEX_FILE);
+            if (!readOnly && !Files.exists(indexPath)) {
+                createIndex(indexPath, INITIAL_SLOTS);
+            }
+            this.index = mapIndex(indexPath);
+            if (!readOnly) {
+                findLastSegment();
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open a Key Store for Reading and Writing, Creating it if Needed.
+     * @param directory Store Directory.
+     * @return Key Store.
+     * @throws java.io.IOException if the store can not be opened or is in
+     * use by another writer.
+     */
+    public static LuovKeyStore open(Path directory) throws IOException {
+        return new LuovKeyStore(directory, false);
+    }
+
+    /**
+     * Open an Existing Key Store for Reading only.
+     * @param directory Store Directory.
+     * @return Key Store.
+     * @throws java.io.IOException if the store can not be opened.
+     */
+    public static LuovKeyStore openReadOnly(Path directory) throws IOException {
+        return new LuovKeyStore(directory, true);
+    }
+
+    /**
+     * Calculates the Fingerprint of a Public Key.
+     * <p>
+     * SHA-256 of the public seed and the packed Q2.
+     * </p>
+     * @param publicKey Public Key of LUOV Cryptosystem.
+     * @return Fingerprint (FINGERPRINT_LENGTH bytes).
+     */
+    public static byte[] fingerprint(PublicKey publicKey) {
+        ByteBuffer encoded = KeyFile.encode(publicKey);
+        encoded.position(KeyFile.HEADER_LENGTH)
+                .limit(encoded.limit() - KeyFile.CHECKSUM_LENGTH);
+        MessageDigest sha = sha256();
+        sha.update(encoded);
+        return sha.digest();
+    }
+
+    /**
+     * Add a Key Pair with its Expanded Signing Key.
+     * @param id Key Id.
+     * @param signer Signer of the Key Pair.
+     * @throws java.io.IOException if the id is already used or writing fails.
+     */
+    public synchronized void put(String id, LuovSigner signer) throws IOException {
+        append(id, signer.getPublicKey(), KeyFile.encode(signer));
+    }
+
+    /**
+     * Add a Public Key alone.
+     * @param id Key Id.
+     * @param publicKey Public Key of LUOV Cryptosystem.
+     * @throws java.io.IOException if the id is already used or writing fails.
+     */
+    public synchronized void put(String id, PublicKey publicKey) throws IOException {
+        append(id, publicKey, KeyFile.encode(publicKey));
+    }
+
+    /**
+     * Look up if a Key Id is in the Store.
+     * @param id Key Id.
+     * @return Is the Key Id in the Store?
+     * @throws java.io.IOException
+     */
+    public boolean contains(String id) throws IOException {
+        return find(ID_ENTRY, idBytes(id)) != null;
+    }
+
+    /**
+     * Look up the Public Key of a Key Id.
+     * @param id Key Id.
+     * @return Public Key of LUOV Cryptosystem, or null if not in the Store.
+     * @throws java.io.IOException if the record can not be read or is invalid.
+     */
+    public PublicKey getPublicKey(String id) throws IOException {
+        ByteBuffer key = find(ID_ENTRY, idBytes(id));
+        return key == null ? null : KeyFile.readPublicKey(key, "key " + id);
+    }
+
+    /**
+     * Look up the Signer of a Key Id.
+     * @param id Key Id.
+     * @return Signer of the Key Pair, or null if not in the Store.
+     * @throws java.io.IOException if the record can not be read, is invalid
+     * or only holds a public key.
+     * @throws java.lang.Exception
+     */
+    public LuovSigner getSigner(String id) throws Exception {
+        ByteBuffer key = find(ID_ENTRY, idBytes(id));
+        return key == null ? null : KeyFile.readSigner(key, "key " + id);
+    }
+
+    /**
+     * Look up a Public Key by its Fingerprint.
+     * @param fingerprint Fingerprint of the Public Key.
+     * @return Public Key of LUOV Cryptosystem, or null if not in the Store.
+     * @throws java.io.IOException if the record can not be read or is invalid.
+     */
+    public PublicKey getPublicKey(byte[] fingerprint) throws IOException {
+        ByteBuffer key = find(FINGERPRINT_ENTRY, fingerprint);
+        return key == null ? null : KeyFile.readPublicKey(key, "key fingerprint");
+    }
+
+    /**
+     * Get the Number of Keys.
+     * @return Number of Key Ids in the Store.
+     */
+    public int size() {
+        return index.getInt(12);
+    }
+
+    /**
+     * Close the Segment Files and Release the Lock.
+     * @throws java.io.IOException
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        for (FileChannel channel : segments.values()) {
+            channel.close();
+        }
+        segments.clear();
+        if (lock != null) {
+            lock.release();
+            lockChannel.close();
+        }
+    }
+
+    /**
+     * Append a Record and Index it.
+     * <p>
+     * Record: key id length (2 bytes), key id in UTF-8, fingerprint, key
+     * length (4 bytes) and key. The record is forced to disk before the
+     * index is updated, so the index never points past the segments.
+     * </p>
+     * @param id Key Id.
+     * @param publicKey Public Key of the Record.
+     * @param key Encoded Key.
+     * @throws java.io.IOException
+     */
+    private void append(String id, PublicKey publicKey, ByteBuffer key) throws IOException {
+        if (readOnly) {
+            throw new IOException("Key store " + directory + " is read only");
+        }
+        byte[] idBytes = idBytes(id);
+        if (idBytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Key id too long");
+        }
+        if (find(ID_ENTRY, idBytes) != null) {
+            throw new IOException("Key id " + id + " already in store");
+        }
+        byte[] fingerprint = fingerprint(publicKey);
+        ByteBuffer record = ByteBuffer.allocate(2 + idBytes.length
+                + FINGERPRINT_LENGTH + 4 + key.remaining());
+        record.putShort((short) idBytes.length).put(idBytes).put(fingerprint);
+        record.putInt(key.remaining()).put(key).flip();
+        if (segmentLength > 0 && segmentLength + record.remaining() > SEGMENT_LIMIT) {
+            segment++;
+            segmentLength = 0;
+        }
+        FileChannel channel = segment(segment);
+        long offset = segmentLength;
+        int length = record.remaining();
+        while (record.hasRemaining()) {
+            channel.write(record, offset + length - record.remaining());
+        }
+        channel.force(true);
+        segmentLength += length;
+        if (2*(size() + 1)*4L > 3L*slots(index)) {
+            growIndex();
+        }
+        insert(index, tag(ID_ENTRY, idBytes), segment, offset, length);
+        if (find(FINGERPRINT_ENTRY, fingerprint) == null) {
+            insert(index, tag(FINGERPRINT_ENTRY, fingerprint), segment, offset, length);
+        }
+        index.putInt(12, size() + 1);
+        index.force();
+    }
+
+    /**
+     * Find the Key of a Key Id or Fingerprint.
+     * @param type Entry Type.
+     * @param name Key Id Bytes or Fingerprint.
+     * @return Buffer with the Encoded Key, or null if not in the Store.
+     * @throws java.io.IOException
+     */
+    private ByteBuffer find(byte type, byte[] name) throws IOException {
+        MappedByteBuffer table = index;
+        long tag = tag(type, name);
+        int mask = slots(table) - 1;
+        for (int slot = (int) tag & mask; ; slot = (slot + 1) & mask) {
+            int position = INDEX_HEADER + slot*SLOT_LENGTH;
+            long found = (long) LONGS.getAcquire(table, position);
+            if (found == 0) {
+                return null;
+            }
+            if (found != tag) {
+                continue;
+            }
+            ByteBuffer record = record(table, position);
+            int idLength = record.getShort();
+            if (idLength < 0 || idLength > record.remaining() - FINGERPRINT_LENGTH - 4) {
+                throw new IOException("Invalid key store record in segment "
+                        + table.getInt(position + 16));
+            }
+            byte[] recordId = new byte[idLength];
+            record.get(recordId);
+            byte[] recordFingerprint = new byte[FINGERPRINT_LENGTH];
+            record.get(recordFingerprint);
+            if (Arrays.equals(type == ID_ENTRY ? recordId : recordFingerprint, name)) {
+                int length = record.getInt();
+                if (length != record.remaining()) {
+                    throw new IOException("Invalid key store record in segment "
+                            + table.getInt(position + 16));
+                }
+                return record.slice();
+            }
+        }
+    }
+
+    /**
+     * Map the Record of a Slot.
+     * <p>
+     * The segment, offset and length of the slot are checked against the
+     * segment files, so a damaged index never maps past a segment nor
+     * creates one.
+     * </p>
+     * @param table Index Table.
+     * @param position Position of the Slot.
+     * @return Read Only Buffer of the Record.
+     * @throws java.io.IOException if the slot is invalid.
+     */
+    private ByteBuffer record(MappedByteBuffer table, int position) throws IOException {
+        int number = table.getInt(position + 16);
+        long offset = table.getLong(position + 8);
+        int length = table.getInt(position + 20);
+        if (number < 0 || (!readOnly && number > segment) || offset < 0
+                || length < RECORD_MINIMUM) {
+            throw new IOException("Invalid key store slot in " + directory);
+        }
+        FileChannel channel = segment(number);
+        if (offset + length > channel.size()) {
+            throw new IOException("Invalid key store record in segment " + number);
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+    }
+
+    /**
+     * Write a Slot, Publishing its Tag Last.
+     * @param table Index Table.
+     * @param tag Tag of the Entry.
+     * @param segment Segment Number.
+     * @param offset Record Offset.
+     * @param length Record Length.
+     */
+    private static void insert(MappedByteBuffer table, long tag, int segment,
+            long offset, int length) {
+        int mask = slots(table) - 1;
+        int slot = (int) tag & mask;
+        while (table.getLong(INDEX_HEADER + slot*SLOT_LENGTH) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        int position = INDEX_HEADER + slot*SLOT_LENGTH;
+        table.putLong(position + 8, offset);
+        table.putInt(position + 16, segment);
+        table.putInt(position + 20, length);
+        LONGS.setRelease(table, position, tag);
+    }
+
+    /**
+     * Replace the Index with one with Twice the Slots.
+     * <p>
+     * The new index is written aside and moved over the old one, whose
+     * mapping stays valid for the lookups still using it.
+     * </p>
+     * @throws java.io.IOException
+     */
+    private void growIndex() throws IOException {
+        MappedByteBuffer old = index;
+        Path indexPath = directory.resolve(INDEX_FILE);
+        Path next = directory.resolve(INDEX_FILE + ".tmp");
+        createIndex(next, 2*slots(old));
+        MappedByteBuffer table = mapIndex(next);
+        for (int slot = 0; slot < slots(old); slot++) {
+            int position = INDEX_HEADER + slot*SLOT_LENGTH;
+            long tag = old.getLong(position);
+            if (tag != 0) {
+                insert(table, tag, old.getInt(position + 16),
+                        old.getLong(position + 8), old.getInt(position + 20));
+            }
+        }
+        table.putInt(12, old.getInt(12));
+        table.force();
+        Files.move(next, indexPath, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        index = table;
+    }
+
+    /**
+     * Create an Empty Index File.
+     * @param path Index Path.
+     * @param slots Number of Slots, a Power of Two.
+     * @throws java.io.IOException
+     */
+    private static void createIndex(Path path, int slots) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE),
+                KeyFile.ownerOnly(path))) {
+            MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    INDEX_HEADER + (long) slots*SLOT_LENGTH);
+            table.putInt(0, INDEX_MAGIC);
+            table.putInt(4, INDEX_VERSION);
+            table.putInt(8, slots);
+            table.putInt(12, 0);
+            table.force();
+        }
+    }
+
+    /**
+     * Map the Index File.
+     * @param path Index Path.
+     * @return Index Table.
+     * @throws java.io.IOException if the index is invalid.
+     */
+    private MappedByteBuffer mapIndex(Path path) throws IOException {
+        StandardOpenOption[] options = readOnly
+                ? new StandardOpenOption[] {StandardOpenOption.READ}
+                : new StandardOpenOption[] {StandardOpenOption.READ,
+                        StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            MappedByteBuffer table = channel.map(readOnly
+                    ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE,
+                    0, channel.size());
+            int slots = table.capacity() < INDEX_HEADER ? 0 : table.getInt(8);
+            if (slots == 0 || table.getInt(0) != INDEX_MAGIC
+                    || table.getInt(4) != INDEX_VERSION
+                    || Integer.bitCount(slots) != 1
+                    || table.capacity() != INDEX_HEADER + (long) slots*SLOT_LENGTH) {
+                throw new IOException("Invalid key store index " + path);
+            }
+            return table;
+        }
+    }
+
+    /**
+     * Find the Last Segment and its Length.
+     * @throws java.io.IOException
+     */
+    private void findLastSegment() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                "segment-*.luov")) {
+            for (Path file : files) {
+                int number = segmentNumber(file);
+                if (number >= segment) {
+                    segment = number;
+                    segmentLength = Files.size(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Parse the Number of a Segment File.
+     * @param file Segment File, named segment-NNNNN.luov.
+     * @return Segment Number.
+     * @throws java.io.IOException if the name is not a segment name.
+     */
+    private static int segmentNumber(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        String digits = name.substring(8, name.length() - 5);
+        if (digits.isEmpty() || !digits.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            throw new IOException("Invalid key store segment " + file);
+        }
+        try {
+            return Integer.parseInt(digits);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid key store segment " + file, e);
+        }
+    }
+
+    /**
+     * Get the Channel of a Segment, Opening it if Needed.
+     * @param number Segment Number.
+     * @return Segment Channel.
+     * @throws java.io.IOException
+     */
+    private FileChannel segment(int number) throws IOException {
+        FileChannel channel = segments.get(number);
+        if (channel != null) {
+            return channel;
+        }
+        Path path = directory.resolve(String.format("segment-%05d.luov", number));
+        channel = readOnly ? FileChannel.open(path, StandardOpenOption.READ)
+                : FileChannel.open(path, EnumSet.of(StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE),
+                        KeyFile.ownerOnly(directory));
+        FileChannel previous = segments.putIfAbsent(number, channel);
+        if (previous != null) {
+            channel.close();
+            return previous;
+        }
+        return channel;
+    }
+
+    /**
+     * Get the Attributes of a Directory Accessible by its Owner only.
+     * @param directory Directory.
+     * @return Owner only Permissions, or none if the File System has no
+     * POSIX Permissions.
+     */
+    private static FileAttribute<?>[] ownerOnlyDirectory(Path directory) {
+        if (!directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return new FileAttribute<?>[0];
+        }
+        return new FileAttribute<?>[] {
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------"))
+        };
+    }
+
+    /**
+     * Get the Number of Slots of an Index Table.
+     * @param table Index Table.
+     * @return Number of Slots.
+     */
+    private static int slots(ByteBuffer table) {
+        return table.getInt(8);
+    }
+
+    /**
+     * Calculates the Tag of an Entry, never 0.
+     * @param type Entry Type.
+     * @param name Key Id Bytes or Fingerprint.
+     * @return First 8 Bytes of SHA-256(type||name), with the High Bit Set.
+     */
+    private static long tag(byte type, byte[] name) {
+        MessageDigest sha = sha256();
+        sha.update(type);
+        sha.update(name);
+        return ByteBuffer.wrap(sha.digest()).getLong() | Long.MIN_VALUE;
+    }
+
+    /**
+     * Get the UTF-8 Bytes of a Key Id.
+     * @param id Key Id.
+     * @return Key Id Bytes.
+     */
+    private static byte[] idBytes(String id) {
+        return id.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get a SHA-256 Digest.
+     * @return Message Digest.
+     */
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+}
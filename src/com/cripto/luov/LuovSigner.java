@@ -0,0 +1,425 @@
+package com.cripto.luov;
+
+import com.cripto.luov.utils.ExpandedSigningKey;
+import com.cripto.luov.utils.LinearTransformation;
+import com.cripto.luov.utils.LuovMetrics;
+import com.cripto.luov.utils.LuovMetrics.Stage;
+import com.cripto.luov.utils.LuovParameters;
+import com.cripto.luov.utils.LuovRandom;
+import com.cripto.luov.utils.PRNG;
+import com.cripto.luov.utils.PrivateKey;
+import com.cripto.luov.utils.PublicKey;
+import com.cripto.luov.utils.PublicMapParts;
+import com.cripto.luov.utils.Q2Generator;
+import com.cripto.luov.utils.RangeTasks;
+import com.cripto.luov.utils.Signature;
+import com.cripto.utils.functions.Pack;
+import com.cripto.utils.models.GFMatrix;
+import com.cripto.utils.models.GFSolver;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import org.bouncycastle.crypto.digests.KeccakDigest;
+import org.bouncycastle.crypto.engines.AESEngine;
+import org.bouncycastle.crypto.engines.DESEngine;
+import org.bouncycastle.crypto.params.DESParameters;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.util.encoders.Hex;
+
+/**
+ * LUOV Signer Class.
+ * <p>
+ * Derives the whole key pair from a private seed once, at construction, and
+ * keeps only immutable state: the private key, the public key and the
+ * expanded signing key. Every thread signs with its own randomness and a
+ * workspace kept per thread and reused by all its signatures, so a single
+ * instance can be shared by any number of threads.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public final class LuovSigner {
+
+    private final LuovParameters parameters;
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+    private final ExpandedSigningKey signingKey;
+    private final ThreadLocal<Workspace> workspaces =
+            ThreadLocal.withInitial(() -> new Workspace(getParameters()));
+
+    /**
+     * Constructor Method, Derives the Key Pair of a Private Seed.
+     * @param privateKey Private Key of LUOV Cryptosystem.
+     * @throws java.lang.Exception
+     */
+    public LuovSigner(PrivateKey privateKey) throws Exception {
+        this(LuovParameters.DEFAULT, privateKey, null);
+    }
+
+    /**
+     * Constructor Method, Derives the Key Pair using the Given Executor.
+     * @param privateKey Private Key of LUOV Cryptosystem.
+     * @param executor Executor that runs the Key Generation, or null to Run
+     * it in the Calling Thread.
+     * @throws java.lang.Exception
+     * @see #LuovSigner(LuovParameters, PrivateKey, ExecutorService)
+     */
+    public LuovSigner(PrivateKey privateKey, ExecutorService executor) throws Exception {
+        this(LuovParameters.DEFAULT, privateKey, executor);
+    }
+
+    /**
+     * Constructor Method, Derives the Key Pair of a Parameter Set.
+     * @param parameters Parameter Set of the Key Pair.
+     * @param privateKey Private Key of LUOV Cryptosystem.
+     * @throws java.lang.Exception
+     */
+    public LuovSigner(LuovParameters parameters, PrivateKey privateKey) throws Exception {
+        this(parameters, privateKey, null);
+    }
+
+    /**
+     * Constructor Method, Derives the Key Pair using the Given Executor.
+     * <p>
+     * The equations of the public map are independent, so Q2 and the
+     * expanded signing key are computed in chunks of equations run by the
+     * executor. The key pair is the same as the sequential one. The calling
+     * thread waits for the chunks, so when it is itself a task of a bounded
+     * pool it should not pass that same pool, unless it is a ForkJoinPool.
+     * </p>
+     * @param parameters Parameter Set of the Key Pair.
+     * @param privateKey Private Key of LUOV Cryptosystem.
+     * @param executor Executor that runs the Key Generation, or null to Run
+     * it in the Calling Thread.
+     * @throws java.lang.Exception
+     */
+    public LuovSigner(LuovParameters parameters, PrivateKey privateKey, 
+            ExecutorService executor) throws Exception {
+        this.parameters = parameters;
+        this.privateKey = privateKey;
+        byte[] publicSeed = Hex.decode(generatePublicSeed(privateKey));
+        LinearTransformation linearTrans = generateLinearTransformation(parameters, 
+                privateKey);
+        PublicMapParts publicMapParts = PRNG.generateCLQ1(parameters, publicSeed);
+        Q2Generator generator = new Q2Generator(linearTrans);
+        long start = LuovMetrics.start();
+        byte[] Q2 = executor == null ? generator.generate(publicMapParts) 
+                : generator.generate(publicMapParts, executor);
+        LuovMetrics.record(Stage.FIND_Q2, start);
+        this.signingKey = executor == null 
+                ? new ExpandedSigningKey(publicMapParts, linearTrans) 
+                : new ExpandedSigningKey(publicMapParts, linearTrans, executor);
+        this.publicKey = new PublicKey(parameters, publicSeed, Q2);
+    }
+
+    /**
+     * Constructor Method for a Stored Key Pair.
+     * <p>
+     * Q2 and the matrix F of the expanded signing key are taken as stored,
+     * so only the cheap derivations of the private seed are repeated. The
+     * parameter set is the one of the public key.
+     * </p>
+     * @param privateKey Private Key of LUOV Cryptosystem.
+     * @param publicKey Public Key of the Private Key.
+     * @param signingKey Buffer holding the Encoded Expanded Signing Key.
+     * @throws IllegalArgumentException if the public key does not belong to
+     * the private key.
+     * @throws java.lang.Exception
+     */
+    LuovSigner(PrivateKey privateKey, PublicKey publicKey, ByteBuffer signingKey) throws Exception {
+        String publicSeed = generatePublicSeed(privateKey);
+        if (!publicSeed.equals(publicKey.getPublicSeed())) {
+            throw new IllegalArgumentException("Public key does not match the private key");
+        }
+        this.parameters = publicKey.getParameters();
+        this.privateKey = privateKey;
+        this.publicKey = publicKey;
+        this.signingKey = new ExpandedSigningKey(
+                PRNG.generateCLQ1(parameters, publicKey.getPublicSeedBytes()), 
+                generateLinearTransformation(parameters, privateKey), signingKey);
+    }
+
+    /**
+     * Get the Parameter Set of the Key Pair.
+     * @return Parameter Set.
+     */
+    public LuovParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Get the Private Key.
+     * @return Private Key of LUOV Cryptosystem.
+     */
+    public PrivateKey getPrivateKey() {
+        return privateKey;
+    }
+
+    /**
+     * Get the Public Key that Verifies the Signatures of this Signer.
+     * @return Public Key of LUOV Cryptosystem.
+     */
+    public PublicKey getPublicKey() {
+        return publicKey;
+    }
+
+    /**
+     * Get the Expanded Signing Key.
+     * @return Expanded Signing Key.
+     */
+    ExpandedSigningKey getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * Generates a pseudo random public seed using DES Engine.
+     * <p>
+     * publicSeed = Des_k1(k2)||Des_k2(k4)||Des_k3(k1)||Des_k4(k3)
+     * being ki = private_seed[8*i:8*(i+1)].
+     * </p>
+     * @param privateKey Private seed of LUOV cryptosystem.
+     * @return Hex String corresponding to the Public Seed.
+     * @throws java.lang.Exception
+     */
+    private static String generatePublicSeed(PrivateKey privateKey) throws Exception {
+        byte[] initKey = privateKey.getPrivateSeedBytes();
+        DESEngine des = new DESEngine();
+        String public_seed = "";
+        for (int i = 0; i < 4; i++) {
+            int ciphIndex = 2*(i+1) % 5 - 1;
+            byte[] partialKey = Arrays.copyOfRange(initKey, 8*i, 8*(i+1));
+            des.init(true, new DESParameters(partialKey));
+            byte[] ciphData = Arrays.copyOfRange(initKey, 8*ciphIndex, 8*(ciphIndex+1));
+            byte[] ciphResult = new byte[8];
+            des.processBlock(ciphData, 0, ciphResult, 0);
+            public_seed += Hex.toHexString(ciphResult);
+        }
+        return public_seed;
+    }
+
+    /**
+     * Generates a pseudo random linearTrans matrix using AES Engine.
+     * @param parameters Parameter Set of the Key Pair.
+     * @param privateKey Private seed of LUOV cryptosystem.
+     * @return linearTrans matrix String.
+     * @throws java.lang.Exception
+     */
+    private static LinearTransformation generateLinearTransformation(
+            LuovParameters parameters, PrivateKey privateKey) throws Exception {
+        String T = "";
+        byte[] initKey = privateKey.getPrivateSeedBytes();
+        byte[] partialKey1 = Arrays.copyOfRange(initKey, 0, 16);
+        byte[] partialKey2 = Arrays.copyOfRange(initKey, 16, 32);
+        AESEngine aes1 = new AESEngine();
+        AESEngine aes2 = new AESEngine();
+        aes1.init(true, new KeyParameter(partialKey2));
+        aes2.init(true, new KeyParameter(partialKey1));
+        byte[] ciphData1 = Arrays.copyOfRange(initKey, 0, 16);
+        byte[] ciphData2 = Arrays.copyOfRange(initKey, 16, 32);
+        for (int i = 0; i < parameters.getVinegarVar()/4; i++) {
+            byte[] ciphResult1 = new byte[16];
+            byte[] ciphResult2 = new byte[16];
+            aes1.processBlock(ciphData1, 0, ciphResult1, 0);
+            aes2.processBlock(ciphData2, 0, ciphResult2, 0);
+            ciphData1 = Arrays.copyOf(ciphResult1, ciphResult1.length);
+            ciphData2 = Arrays.copyOf(ciphResult2, ciphResult2.length);
+            ciphResult1[0] = (byte) (Math.abs((int) ciphResult1[0] % 2));
+            ciphResult1[8] = (byte) (Math.abs((int) ciphResult1[8] % 2));
+            ciphResult2[0] = (byte) (Math.abs((int) ciphResult2[0] % 2));
+            ciphResult2[8] = (byte) (Math.abs((int) ciphResult2[8] % 2));
+            T += Hex.toHexString(ciphResult1);
+            T += Hex.toHexString(ciphResult2);
+        }
+        byte[] ciphResult = new byte[16];
+        if(initKey[0] < 0) {
+            aes1.processBlock(ciphData2, 0, ciphResult, 0);
+        }else {
+            aes2.processBlock(ciphData1, 0, ciphResult, 0);
+        }
+        ciphResult[0] = (byte) (Math.abs((int) ciphResult[0] % 2));
+        T += Hex.toHexString(Arrays.copyOfRange(ciphResult, 0, 8));
+        return new LinearTransformation(parameters, T);
+    }
+
+    /**
+     * Signing Workspace, Reused by every Signature of a same Thread.
+     */
+    private static final class Workspace {
+
+        private final byte[] vinegarAssign;
+        private final GFMatrix v;
+        private final GFMatrix A;
+        private final GFMatrix o;
+        private final ExpandedSigningKey.Workspace attempt;
+
+        /**
+         * Constructor Method.
+         * @param parameters Parameter Set of the Key Pair.
+         */
+        private Workspace(LuovParameters parameters) {
+            int oil = parameters.getOilVar();
+            int vinegar = parameters.getVinegarVar();
+            this.vinegarAssign = new byte[vinegar];
+            this.v = new GFMatrix(vinegarAssign, vinegar, 1);
+            this.A = new GFMatrix(oil, oil + 1);
+            this.o = new GFMatrix(oil, 1);
+            this.attempt = new ExpandedSigningKey.Workspace(parameters, v, A);
+        }
+
+    }
+
+    /**
+     * Sign the given Message.
+     * <p>
+     * Only the vinegar dependent work is done per attempt, the rest of the
+     * equation system comes from the expanded signing key. The system is
+     * solved in place with a pivoting solver, so an attempt is only retried
+     * when it is really singular.
+     * </p>
+     * @param M Message to be Signed.
+     * @return Message Signature (s, salt).
+     * @throws java.lang.Exception
+     */
+    public Signature sign(String M) throws Exception {
+        return sign(M, LuovRandom.current(), workspaces.get());
+    }
+
+    /**
+     * Sign a Message Read from a Stream, up to its End.
+     * <p>
+     * The message is given to the digest as it is read, so the memory used
+     * does not depend on its length. The signature is the same as for a
+     * String message with the same bytes.
+     * </p>
+     * @param in Message Stream, not Closed.
+     * @return Message Signature (s, salt).
+     * @throws java.io.IOException if the stream can not be read.
+     */
+    public Signature sign(InputStream in) throws IOException {
+        return sign(MessageStreams.digest(in));
+    }
+
+    /**
+     * Sign a Message Read from a Blocking Channel, up to its End.
+     * @param channel Message Channel, not Closed.
+     * @return Message Signature (s, salt).
+     * @throws java.io.IOException if the channel can not be read.
+     */
+    public Signature sign(ReadableByteChannel channel) throws IOException {
+        return sign(MessageStreams.digest(channel));
+    }
+
+    /**
+     * Sign the Content of a File, Read through Memory Mapped Windows.
+     * @param file Message File.
+     * @return Message Signature (s, salt).
+     * @throws java.io.IOException if the file can not be read.
+     */
+    public Signature sign(Path file) throws IOException {
+        return sign(MessageStreams.digest(file));
+    }
+
+    /**
+     * Sign a Message already Absorbed by a Digest.
+     * @param message Digest that has Absorbed the Message.
+     * @return Message Signature (s, salt).
+     */
+    private Signature sign(KeccakDigest message) {
+        long start = LuovMetrics.start();
+        LuovRandom random = LuovRandom.current();
+        byte[] salt = new byte[Signature.SALT_LENGTH];
+        random.nextBytes(salt);
+        long stage = LuovMetrics.start();
+        GFMatrix h = LUOV.hashMessage(parameters, message, salt);
+        LuovMetrics.record(Stage.HASH, stage);
+        return sign(h, salt, start, random, workspaces.get());
+    }
+
+    /**
+     * Sign the given Message with the Given Randomness and Workspace.
+     * @param M Message to be Signed.
+     * @param random Random Generator of the Current Thread.
+     * @param work Workspace of the Current Thread.
+     * @return Message Signature (s, salt).
+     */
+    private Signature sign(String M, LuovRandom random, Workspace work) {
+        long start = LuovMetrics.start();
+        byte[] salt = new byte[Signature.SALT_LENGTH];
+        random.nextBytes(salt);
+        return sign(LUOV.hashMessage(parameters, M, salt), salt, start, random, work);
+    }
+
+    /**
+     * Solve the Signing Equations of a Hashed Message.
+     * @param h Message Vector h = Hash(M||0x00||salt).
+     * @param salt Salt Bytes.
+     * @param start Start Time of the Signature.
+     * @param random Random Generator of the Current Thread.
+     * @param work Workspace of the Current Thread.
+     * @return Message Signature (s, salt).
+     */
+    private Signature sign(GFMatrix h, byte[] salt, long start, LuovRandom random,
+            Workspace work) {
+        int tries = 0;
+        boolean solutionFound;
+        do {
+            tries++;
+            random.nextElements(work.vinegarAssign);
+            long stage = LuovMetrics.start();
+            signingKey.buildAugmentedMatrix(h, work.attempt);
+            LuovMetrics.record(Stage.AUGMENTED_MATRIX, stage);
+            stage = LuovMetrics.start();
+            solutionFound = GFSolver.solve(work.A, work.o);
+            LuovMetrics.record(Stage.SOLVE, stage);
+        } while (!solutionFound);
+        GFMatrix s = signingKey.buildSignature(work.v, work.o);
+        LuovMetrics.recordSignature(tries);
+        LuovMetrics.record(Stage.SIGN, start);
+        return new Signature(parameters, Pack.encode(s), salt);
+    }
+
+    /**
+     * Sign a Batch of Messages using the Common ForkJoin Pool.
+     * @param messages Messages to be Signed.
+     * @return Message Signatures, in the same Order.
+     * @throws java.lang.Exception
+     */
+    public Signature[] signBatch(Collection<String> messages) throws Exception {
+        return signBatch(messages, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sign a Batch of Messages using the Given Executor.
+     * <p>
+     * The messages are split in chunks signed in parallel. Each worker thread
+     * has its own random generator and workspace, so workers share only the
+     * immutable expanded signing key.
+     * </p>
+     * @param messages Messages to be Signed.
+     * @param executor Executor that runs the Signatures.
+     * @return Message Signatures, in the same Order.
+     * @throws java.lang.Exception if a signing task fails.
+     */
+    public Signature[] signBatch(Collection<String> messages,
+            ExecutorService executor) throws Exception {
+        String[] items = messages.toArray(new String[0]);
+        Signature[] results = new Signature[items.length];
+        RangeTasks.run(executor, items.length, (start, end) -> {
+            LuovRandom random = LuovRandom.current();
+            Workspace work = workspaces.get();
+            for (int i = start; i < end; i++) {
+                results[i] = sign(items[i], random, work);
+            }
+        });
+        return results;
+    }
+
+}
@@ -0,0 +1,307 @@
+package com.cripto.luov;
+
+import com.cripto.luov.utils.LuovMetrics;
+import com.cripto.luov.utils.LuovMetrics.Stage;
+import com.cripto.luov.utils.PublicKey;
+import com.cripto.luov.utils.PublicKeyCache;
+import com.cripto.luov.utils.PublicMap;
+import com.cripto.luov.utils.RangeTasks;
+import com.cripto.luov.utils.Signature;
+import com.cripto.luov.utils.StreamingPublicMap;
+import com.cripto.luov.utils.VerificationRequest;
+import com.cripto.utils.models.GFMatrix;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import org.bouncycastle.crypto.digests.KeccakDigest;
+
+/**
+ * LUOV Verifier Class.
+ * <p>
+ * Verifies signatures for any public key, expanding the public maps through
+ * a thread safe public key cache. The verifier has no other state, so a
+ * single instance can be shared by any number of threads.
+ * </p>
+ * <p>
+ * A verifier made by {@link #lowMemory()} has no cache and runs in low memory
+ * mode: public maps are never expanded, every verification streams C, L and
+ * Q1 from the public seed through a {@link StreamingPublicMap}. The memory
+ * used is then small and fixed, whatever the number of keys, at the cost of a
+ * keystream expansion per verification.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public final class LuovVerifier {
+
+    private final PublicKeyCache publicKeyCache;
+
+    /**
+     * Constructor Method with a new Public Key Cache.
+     */
+    public LuovVerifier() {
+        this(new PublicKeyCache());
+    }
+
+    /**
+     * Constructor Method.
+     * @param publicKeyCache Cache of Expanded Public Maps.
+     * @throws NullPointerException if the cache is null, use lowMemory()
+     * for a verifier without cache.
+     */
+    public LuovVerifier(PublicKeyCache publicKeyCache) {
+        this(publicKeyCache, false);
+    }
+
+    /**
+     * Constructor Method.
+     * @param publicKeyCache Cache of Expanded Public Maps, Ignored in Low
+     * Memory Mode.
+     * @param lowMemory Verify in Low Memory Mode?
+     */
+    private LuovVerifier(PublicKeyCache publicKeyCache, boolean lowMemory) {
+        if (publicKeyCache == null && !lowMemory) {
+            throw new NullPointerException(
+                    "No public key cache, use LuovVerifier.lowMemory()");
+        }
+        this.publicKeyCache = lowMemory ? null : publicKeyCache;
+    }
+
+    /**
+     * Create a Verifier in Low Memory Mode.
+     * <p>
+     * Public maps are streamed from the public seed at every verification
+     * and never kept.
+     * </p>
+     * @return Verifier without Public Key Cache.
+     */
+    public static LuovVerifier lowMemory() {
+        return new LuovVerifier(null, true);
+    }
+
+    /**
+     * Look up if the Verifier runs in Low Memory Mode.
+     * @return Is the Verifier without Public Key Cache?
+     */
+    public boolean isLowMemory() {
+        return publicKeyCache == null;
+    }
+
+    /**
+     * Get the Cache of Expanded Public Maps.
+     * @return Public Key Cache, or null in Low Memory Mode.
+     */
+    public PublicKeyCache getPublicKeyCache() {
+        return publicKeyCache;
+    }
+
+    /**
+     * Get the Public Map used to Verify the Signatures of a Public Key.
+     * @param publicKey Public Key of LUOV Cryptosystem.
+     * @return Expanded Public Map of the Cache, or Streaming Public Map in
+     * Low Memory Mode.
+     */
+    private PublicMap getPublicMap(PublicKey publicKey) {
+        return publicKeyCache == null ? new StreamingPublicMap(publicKey) 
+                : publicKeyCache.getPublicMap(publicKey);
+    }
+
+    /**
+     * Verify if a Signature (s, salt) is Valid for a Message M.
+     * <p>
+     * For a signature (s, salt) verify if the Public Map (P) evaluated in s is
+     * equal to Hashed Message M, i.e. P(s) == [h = Hash(M||0x00||salt)].
+     * P(s) = C + L(s) + Q(s), with Q = (Q1||Q2), is calculated using the
+     * bitsliced form of the Public Map expanded from the public seed, or
+     * taken from the public key cache, or streamed in low memory mode.
+     * </p>
+     * @param publicKey Public Key used for Verification.
+     * @param M Message to be Verified.
+     * @param sign Sign to be Verified.
+     * @return Verification of a Signature P(s) == h.
+     */
+    public boolean verify(PublicKey publicKey, String M, Signature sign) {
+        return verify(getPublicMap(publicKey), M, sign);
+    }
+
+    /**
+     * Verify a Signature of a Message Read from a Stream, up to its End.
+     * <p>
+     * The message is given to the digest as it is read, so the memory used
+     * does not depend on its length. The result is the same as for a String
+     * message with the same bytes.
+     * </p>
+     * @param publicKey Public Key used for Verification.
+     * @param in Message Stream, not Closed.
+     * @param sign Sign to be Verified.
+     * @return Verification of a Signature P(s) == h.
+     * @throws java.io.IOException if the stream can not be read.
+     */
+    public boolean verify(PublicKey publicKey, InputStream in, Signature sign) throws IOException {
+        return verify(getPublicMap(publicKey), MessageStreams.digest(in), sign);
+    }
+
+    /**
+     * Verify a Signature of a Message Read from a Blocking Channel.
+     * @param publicKey Public Key used for Verification.
+     * @param channel Message Channel, not Closed.
+     * @param sign Sign to be Verified.
+     * @return Verification of a Signature P(s) == h.
+     * @throws java.io.IOException if the channel can not be read.
+     */
+    public boolean verify(PublicKey publicKey, ReadableByteChannel channel, Signature sign) 
+            throws IOException {
+        return verify(getPublicMap(publicKey), MessageStreams.digest(channel), 
+                sign);
+    }
+
+    /**
+     * Verify a Signature of the Content of a File.
+     * @param publicKey Public Key used for Verification.
+     * @param file Message File, Read through Memory Mapped Windows.
+     * @param sign Sign to be Verified.
+     * @return Verification of a Signature P(s) == h.
+     * @throws java.io.IOException if the file can not be read.
+     */
+    public boolean verify(PublicKey publicKey, Path file, Signature sign) throws IOException {
+        return verify(getPublicMap(publicKey), MessageStreams.digest(file), sign);
+    }
+
+    /**
+     * Verify a Signature with the Public Map of its Key.
+     * @param publicMap Public Map of the Public Key.
+     * @param M Message to be Verified.
+     * @param sign Sign to be Verified.
+     * @return Verification of a Signature P(s) == h.
+     */
+    private static boolean verify(PublicMap publicMap, String M, Signature sign) {
+        long start = LuovMetrics.start();
+        return verify(publicMap, LUOV.hashMessage(publicMap.getParameters(), M, 
+                sign.getSaltBytes()), sign, start);
+    }
+
+    /**
+     * Verify a Signature of a Message already Absorbed by a Digest.
+     * @param publicMap Public Map of the Public Key.
+     * @param message Digest that has Absorbed the Message.
+     * @param sign Sign to be Verified.
+     * @return Verification of a Signature P(s) == h.
+     */
+    private static boolean verify(PublicMap publicMap, KeccakDigest message, 
+            Signature sign) {
+        long start = LuovMetrics.start();
+        GFMatrix h = LUOV.hashMessage(publicMap.getParameters(), message, 
+                sign.getSaltBytes());
+        LuovMetrics.record(Stage.HASH, start);
+        return verify(publicMap, h, sign, start);
+    }
+
+    /**
+     * Verify a Signature of a Hashed Message.
+     * <p>
+     * A signature of another parameter set than the public map is invalid.
+     * </p>
+     * @param publicMap Public Map of the Public Key.
+     * @param h Message Vector h = Hash(M||0x00||salt).
+     * @param sign Sign to be Verified.
+     * @param start Start Time of the Verification.
+     * @return Verification of a Signature P(s) == h.
+     */
+    private static boolean verify(PublicMap publicMap, GFMatrix h, Signature sign,
+            long start) {
+        if (!sign.getParameters().equals(publicMap.getParameters())) {
+            LuovMetrics.record(Stage.VERIFY, start);
+            return false;
+        }
+        long stage = LuovMetrics.start();
+        GFMatrix e = publicMap.evaluate(sign.getSBytes());
+        LuovMetrics.record(Stage.EVALUATE, stage);
+        boolean valid = e.equals(h);
+        LuovMetrics.record(Stage.VERIFY, start);
+        return valid;
+    }
+
+    /**
+     * Verify a Batch of Signatures using the Common ForkJoin Pool.
+     * @param requests Verification Requests.
+     * @return Verification of each Request, in the same Order.
+     * @throws java.lang.Exception
+     */
+    public boolean[] verifyBatch(Collection<VerificationRequest> requests) throws Exception {
+        return verifyBatch(requests, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Verify a Batch of Signatures using the Given Executor.
+     * <p>
+     * The requests are grouped by public key and the groups, in order, are
+     * split in chunks verified in parallel. A chunk takes the public map of
+     * a key from the public key cache (or streams it in low memory mode)
+     * when it reaches the requests of that key, and drops it when it moves
+     * to the next key. The batch then holds at most one map per running
+     * chunk besides the cache, whatever the number of distinct keys, and
+     * the cache budget is kept. The result of each request is the same as
+     * calling verify on it.
+     * </p>
+     * @param requests Verification Requests.
+     * @param executor Executor that runs the Verifications.
+     * @return Verification of each Request, in the same Order.
+     * @throws java.lang.Exception if a verification task fails.
+     */
+    public boolean[] verifyBatch(Collection<VerificationRequest> requests,
+            ExecutorService executor) throws Exception {
+        VerificationRequest[] items = requests.toArray(new VerificationRequest[0]);
+        boolean[] results = new boolean[items.length];
+        int[] groups = new int[items.length];
+        int[] order = groupByKey(items, groups);
+        RangeTasks.run(executor, order.length, (start, end) -> {
+            int group = -1;
+            PublicMap publicMap = null;
+            for (int n = start; n < end; n++) {
+                int i = order[n];
+                if (groups[i] != group) {
+                    group = groups[i];
+                    publicMap = getPublicMap(items[i].getPublicKey());
+                }
+                results[i] = verify(publicMap, items[i].getMessage(),
+                        items[i].getSignature());
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Group the Requests of a Batch by Public Key.
+     * @param items Verification Requests.
+     * @param groups Group of each Request, Filled in Order of First Use.
+     * @return Indexes of the Requests Sorted by Group, Stable.
+     */
+    private static int[] groupByKey(VerificationRequest[] items, int[] groups) {
+        Map<PublicKey, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < items.length; i++) {
+            groups[i] = indexes.computeIfAbsent(items[i].getPublicKey(),
+                    key -> indexes.size());
+        }
+        int[] starts = new int[indexes.size() + 1];
+        for (int group : groups) {
+            starts[group + 1]++;
+        }
+        for (int g = 0; g < indexes.size(); g++) {
+            starts[g + 1] += starts[g];
+        }
+        int[] order = new int[items.length];
+        for (int i = 0; i < items.length; i++) {
+            order[starts[groups[i]]++] = i;
+        }
+        return order;
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.cripto.luov;
+
+import com.cripto.luov.utils.PRNG;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.bouncycastle.crypto.digests.KeccakDigest;
+
+/**
+ * Message Streams Class.
+ * <p>
+ * Feeds messages of any size to the message digest as they are read, with a
+ * fixed buffer, so the memory used does not depend on the message length.
+ * Files are read through memory mapped windows. The digest absorbs exactly
+ * the bytes of the message, so the signatures are the same as for a String
+ * message with the same bytes.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+final class MessageStreams {
+
+    private static final int BUFFER_LENGTH = 1 << 16;
+    private static final long WINDOW_LENGTH = 1L << 26;
+
+    /**
+     * Constructor Method.
+     */
+    private MessageStreams() {
+    }
+
+    /**
+     * Digest a Message Read from a Stream, up to its End.
+     * @param in Message Stream, not Closed.
+     * @return Digest that has Absorbed the Message.
+     * @throws java.io.IOException
+     */
+    static KeccakDigest digest(InputStream in) throws IOException {
+        KeccakDigest digest = PRNG.newHashDigest();
+        byte[] buffer = new byte[BUFFER_LENGTH];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return digest;
+    }
+
+    /**
+     * Digest a Message Read from a Blocking Channel, up to its End.
+     * @param channel Message Channel, not Closed.
+     * @return Digest that has Absorbed the Message.
+     * @throws java.io.IOException
+     */
+    static KeccakDigest digest(ReadableByteChannel channel) throws IOException {
+        KeccakDigest digest = PRNG.newHashDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_LENGTH);
+        while (channel.read(buffer) != -1) {
+            digest.update(buffer.array(), 0, buffer.position());
+            buffer.clear();
+        }
+        return digest;
+    }
+
+    /**
+     * Digest the Content of a File.
+     * @param file Message File.
+     * @return Digest that has Absorbed the Message.
+     * @throws java.io.IOException
+     */
+    static KeccakDigest digest(Path file) throws IOException {
+        KeccakDigest digest = PRNG.newHashDigest();
+        byte[] buffer = new byte[BUFFER_LENGTH];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += WINDOW_LENGTH) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                        position, Math.min(WINDOW_LENGTH, size - position));
+                while (window.hasRemaining()) {
+                    int length = Math.min(buffer.length, window.remaining());
+                    window.get(buffer, 0, length);
+                    digest.update(buffer, 0, length);
+                }
+            }
+        }
+        return digest;
+    }
+
+}
@@ -0,0 +1,364 @@
+package com.cripto.luov.utils;
+
+import static com.cripto.luov.LUOV.FIELD;
+import static com.cripto.luov.LUOV.POLY;
+import com.cripto.utils.functions.GaloisField;
+import com.cripto.utils.functions.Pack;
+import com.cripto.utils.models.GFMatrix;
+import java.util.Arrays;
+
+/**
+ * Bitsliced Public Map Class.
+ * <p>
+ * This is the prepared, verification-ready form of a public key. The
+ * coefficients of the OIL_VAR equations for a same monomial are interleaved
+ * as FIELD bit-planes, one long per plane, where bit k of plane p is the bit
+ * p of the coefficient of equation k. Evaluating a monomial then updates all
+ * the equations at once with FIELD XORs.
+ * </p>
+ * <p>
+ * The planes are laid out in the order they are read: for each variable i,
+ * the linear coefficient of s_i followed by the quadratic coefficients of
+ * s_i*s_j for j = i..N-1. An evaluation is a single sequential pass over the
+ * array, where the products s_i*s_j of a row are read from the product table
+ * of s_i. The monomials are accumulated in one bucket per value of their
+ * scalar, and the buckets are multiplied by their scalar only once at the
+ * end.
+ * </p>
+ * <p>
+ * Instances are immutable and can be shared between threads and reused for
+ * any number of evaluations.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public class BitslicedPublicMap implements PublicMap {
+
+    private static final int SIZE = 1 << FIELD;
+
+    private final LuovParameters parameters;
+    private final int n;
+    private final long[] constant;
+    private final long[] rows;
+
+    /**
+     * Constructor Method.
+     * @param parts Constant, Linear and First Quadratic Part of Public Map.
+     * @param publicKey Public Key that holds Q2.
+     * @throws IllegalArgumentException if the parameter sets do not match.
+     */
+    public BitslicedPublicMap(PublicMapParts parts, PublicKey publicKey) {
+        this(parameters(parts, publicKey), parts.getCBytes(), parts.getLBytes(), 
+                parts.q1(), publicKey.q2());
+    }
+
+    /**
+     * Get the Parameter Set Shared by the Parts and the Public Key.
+     * @param parts Constant, Linear and First Quadratic Part of Public Map.
+     * @param publicKey Public Key that holds Q2.
+     * @return Parameter Set.
+     * @throws IllegalArgumentException if the parameter sets do not match.
+     */
+    private static LuovParameters parameters(PublicMapParts parts, PublicKey publicKey) {
+        if (!parts.getParameters().equals(publicKey.getParameters())) {
+            throw new IllegalArgumentException("Parameter sets do not match");
+        }
+        return publicKey.getParameters();
+    }
+
+    /**
+     * Expands the Public Map of a Public Key from its Public Seed.
+     * @param publicKey Public Key of LUOV Cryptosystem.
+     * @return Bitsliced Public Map of the Key.
+     */
+    public static BitslicedPublicMap expand(PublicKey publicKey) {
+        return new BitslicedPublicMap(PRNG.generateCLQ1(publicKey.getParameters(),
+                publicKey.getPublicSeedBytes()), publicKey);
+    }
+
+    /**
+     * Constructor Method.
+     * @param C Constant Part Matrix (OIL_VAR x 1).
+     * @param L Linear Part Matrix (OIL_VAR x N).
+     * @param Q1 First Quadratic Part Matrix.
+     * @param Q2 Second Quadratic Part Matrix.
+     * @throws IllegalArgumentException if the dimensions are not those of a
+     * supported parameter set.
+     */
+    public BitslicedPublicMap(GFMatrix C, GFMatrix L, GFMatrix Q1, GFMatrix Q2) {
+        this(parameters(C, L, Q1, Q2), Pack.encode(C), Pack.encode(L), 
+                Pack.encode(Q1), Pack.encode(Q2));
+    }
+
+    /**
+     * Constructor Method from the Row-Major Element Bytes of the Parts.
+     * <p>
+     * The planes are filled one coefficient at a time, in the order they
+     * are laid out, gathering the element of every equation from its row of
+     * the parts. Each plane is then written once.
+     * </p>
+     * @param parameters Parameter Set of the Public Map.
+     * @param C Constant Part Bytes (OIL_VAR).
+     * @param L Linear Part Bytes (OIL_VAR x N).
+     * @param Q1 First Quadratic Part Bytes (OIL_VAR x Q1_COLUMNS).
+     * @param Q2 Second Quadratic Part Bytes (OIL_VAR x Q2_COLUMNS).
+     */
+    private BitslicedPublicMap(LuovParameters parameters, byte[] C, byte[] L, 
+            byte[] Q1, byte[] Q2) {
+        this.parameters = parameters;
+        this.n = parameters.getN();
+        int n = this.n;
+        int oil = parameters.getOilVar();
+        int vinegar = parameters.getVinegarVar();
+        int columns1 = parameters.getQ1Columns();
+        int columns2 = parameters.getQ2Columns();
+        this.constant = new long[FIELD];
+        this.rows = new long[(n + columns1 + columns2)*FIELD];
+        slice(constant, 0, C, 0, 1, oil);
+        int offset = 0;
+        int column = 0;
+        for (int i = 0; i < n; i++) {
+            slice(rows, offset, L, i, n, oil);
+            offset += FIELD;
+            byte[] Q = i < vinegar ? Q1 : Q2;
+            int columns = i < vinegar ? columns1 : columns2;
+            if (i == vinegar) {
+                column = 0;
+            }
+            for (int j = i; j < n; j++) {
+                slice(rows, offset, Q, column++, columns, oil);
+                offset += FIELD;
+            }
+        }
+    }
+
+    /**
+     * Get the Parameter Set of the Parts of a Public Map.
+     * @param C Constant Part Matrix.
+     * @param L Linear Part Matrix.
+     * @param Q1 First Quadratic Part Matrix.
+     * @param Q2 Second Quadratic Part Matrix.
+     * @return Parameter Set.
+     * @throws IllegalArgumentException if the dimensions do not match.
+     */
+    private static LuovParameters parameters(GFMatrix C, GFMatrix L, GFMatrix Q1, 
+            GFMatrix Q2) {
+        int oil = C.getRows();
+        LuovParameters parameters = new LuovParameters(oil, L.getColumns() - oil);
+        if (C.getColumns() != 1 || L.getRows() != oil || Q1.getRows() != oil 
+                || Q2.getRows() != oil 
+                || Q1.getColumns() != parameters.getQ1Columns()
+                || Q2.getColumns() != parameters.getQ2Columns()) {
+            throw new IllegalArgumentException("Matrix dimensions do not match");
+        }
+        return parameters;
+    }
+
+    /**
+     * Slice a Coefficient of every Equation into its Planes.
+     * <p>
+     * The FIELD = 7 planes are gathered in locals and stored once.
+     * </p>
+     * @param planes Bit-Planes Array.
+     * @param offset Offset of the First Plane.
+     * @param data Row-Major Element Bytes.
+     * @param index Index of the Element of the First Equation.
+     * @param stride Distance between the Elements of two Equations.
+     * @param oil Number of Equations.
+     */
+    private static void slice(long[] planes, int offset, byte[] data, int index, 
+            int stride, int oil) {
+        long p0 = 0, p1 = 0, p2 = 0, p3 = 0, p4 = 0, p5 = 0, p6 = 0;
+        for (int k = 0; k < oil; k++, index += stride) {
+            long value = data[index];
+            p0 |= (value & 1) << k;
+            p1 |= ((value >>> 1) & 1) << k;
+            p2 |= ((value >>> 2) & 1) << k;
+            p3 |= ((value >>> 3) & 1) << k;
+            p4 |= ((value >>> 4) & 1) << k;
+            p5 |= ((value >>> 5) & 1) << k;
+            p6 |= ((value >>> 6) & 1) << k;
+        }
+        planes[offset] = p0;
+        planes[offset + 1] = p1;
+        planes[offset + 2] = p2;
+        planes[offset + 3] = p3;
+        planes[offset + 4] = p4;
+        planes[offset + 5] = p5;
+        planes[offset + 6] = p6;
+    }
+
+    /**
+     * Get the Parameter Set of the Public Map.
+     * @return Parameter Set.
+     */
+    @Override
+    public LuovParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Get the Approximate Memory used by the Planes.
+     * @return Size in Bytes.
+     */
+    public long getSizeInBytes() {
+        return 8L*(constant.length + rows.length);
+    }
+
+    /**
+     * Calculates the Evaluation of s in the Public Map P.
+     * <p>
+     * P(s) = C + L(s) + Q(s), with Q = (Q1||Q2).
+     * </p>
+     * @param s s Signature Matrix (N x 1).
+     * @return Evaluation of s in the Public Map P (OIL_VAR x 1).
+     */
+    public GFMatrix evaluate(GFMatrix s) {
+        byte[] values = new byte[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = (byte) s.get(i, 0);
+        }
+        return evaluate(values);
+    }
+
+    /**
+     * Calculates the Evaluation of s in the Public Map P.
+     * <p>
+     * P(s) = C + L(s) + Q(s), with Q = (Q1||Q2).
+     * </p>
+     * @param s s Signature Elements over GF(2^7) (N Bytes).
+     * @return Evaluation of s in the Public Map P (OIL_VAR x 1).
+     * @throws IllegalArgumentException if s is not a vector over GF(2^7).
+     */
+    @Override
+    public GFMatrix evaluate(byte[] s) {
+        int n = this.n;
+        if (s.length != n) {
+            throw new IllegalArgumentException("Signature must have " + n
+                    + " elements");
+        }
+        Pack.checkElements(s);
+        byte[] mul = GaloisField.GF128.multTable();
+        byte[] products = new byte[n];
+        long[] buckets = new long[SIZE*FIELD];
+        for (int p = 0; p < FIELD; p++) {
+            buckets[FIELD + p] = constant[p];
+        }
+        int offset = 0;
+        for (int i = 0; i < n; i++) {
+            int si = s[i];
+            if (si == 0) {
+                offset += (n - i + 1)*FIELD;
+                continue;
+            }
+            int base = si << FIELD;
+            for (int j = i; j < n; j++) {
+                products[j] = mul[base | s[j]];
+            }
+            accumulate(buckets, rows, offset, si);
+            offset += FIELD;
+            for (int j = i; j < n; j++) {
+                accumulate(buckets, rows, offset, products[j]);
+                offset += FIELD;
+            }
+        }
+        return unslice(reduce(buckets), parameters.getOilVar());
+    }
+
+    /**
+     * XOR the Planes of a Coefficient into the Bucket of a Scalar.
+     * @param buckets Buckets Array.
+     * @param planes Coefficient Planes Array.
+     * @param offset Offset of the First Plane.
+     * @param scalar Scalar over GF(2^7).
+     */
+    static void accumulate(long[] buckets, long[] planes, int offset, int scalar) {
+        if (scalar == 0) {
+            return;
+        }
+        int b = scalar*FIELD;
+        for (int p = 0; p < FIELD; p++) {
+            buckets[b + p] ^= planes[offset + p];
+        }
+    }
+
+    /**
+     * Multiply every Bucket by its Scalar and Add them.
+     * <p>
+     * The buckets are first grouped by the bits of their scalar, then the
+     * groups are combined with Horner's rule, multiplying by x in bitsliced
+     * form and reducing x^FIELD by POLY.
+     * </p>
+     * @param buckets Buckets Array.
+     * @return Bit-Planes of the Result.
+     */
+    static long[] reduce(long[] buckets) {
+        return reduce(buckets, new long[FIELD*FIELD], new long[FIELD]);
+    }
+
+    /**
+     * Multiply every Bucket by its Scalar and Add them into given Arrays.
+     * @param buckets Buckets Array.
+     * @param groups Scratch Array (FIELD x FIELD), overwritten.
+     * @param result Bit-Planes of the Result, overwritten.
+     * @return Bit-Planes of the Result.
+     */
+    static long[] reduce(long[] buckets, long[] groups, long[] result) {
+        Arrays.fill(groups, 0L);
+        Arrays.fill(result, 0L);
+        for (int c = 1; c < SIZE; c++) {
+            for (int b = 0; b < FIELD; b++) {
+                if (((c >>> b) & 1) != 0) {
+                    for (int p = 0; p < FIELD; p++) {
+                        groups[b*FIELD + p] ^= buckets[c*FIELD + p];
+                    }
+                }
+            }
+        }
+        for (int b = FIELD - 1; b >= 0; b--) {
+            long top = result[FIELD - 1];
+            for (int p = FIELD - 1; p > 0; p--) {
+                result[p] = result[p - 1];
+            }
+            result[0] = 0;
+            for (int p = 0; p < FIELD; p++) {
+                if (((POLY >>> p) & 1) != 0) {
+                    result[p] ^= top;
+                }
+                result[p] ^= groups[b*FIELD + p];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Transform Bit-Planes into a Column Vector over GF(2^7).
+     * @param planes Bit-Planes.
+     * @param oil Number of Equations in the Planes.
+     * @return Column Vector (OIL_VAR x 1).
+     */
+    static GFMatrix unslice(long[] planes, int oil) {
+        return unslice(planes, new GFMatrix(oil, 1));
+    }
+
+    /**
+     * Transform Bit-Planes into a given Column Vector over GF(2^7).
+     * @param planes Bit-Planes.
+     * @param result Column Vector (OIL_VAR x 1), overwritten.
+     * @return Column Vector.
+     */
+    static GFMatrix unslice(long[] planes, GFMatrix result) {
+        int oil = result.getRows();
+        for (int k = 0; k < oil; k++) {
+            int value = 0;
+            for (int p = 0; p < FIELD; p++) {
+                value |= (int) ((planes[p] >>> k) & 1) << p;
+            }
+            result.set(k, 0, value);
+        }
+        return result;
+    }
+
+}
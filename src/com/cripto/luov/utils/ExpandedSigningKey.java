@@ -0,0 +1,335 @@
+package com.cripto.luov.utils;
+
+import static com.cripto.luov.LUOV.FIELD;
+import com.cripto.utils.functions.GaloisField;
+import com.cripto.utils.functions.Pack;
+import com.cripto.utils.models.GFMatrix;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Expanded Signing Key Class.
+ * <p>
+ * Holds everything of the signing equations that does not depend on the
+ * message nor on the vinegar values, computed once per private key:
+ * </p>
+ * <ul>
+ * <li>C and the vinegar columns Lv of L.</li>
+ * <li>L*[T; I] = Lv*T + Lo, the constant part of the linear system.</li>
+ * <li>F = [F0 | ... | Fm-1] with Fk = (Pk1 + Pk1^T)*T + Pk2, so that
+ * v^T*F, read as an (m x m) matrix, is the vinegar dependent part of the
+ * linear system.</li>
+ * <li>The vinegar-vinegar coefficients Pk1 of all the equations in bitsliced
+ * form, to evaluate every v^T*Pk1*v at once.</li>
+ * </ul>
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public class ExpandedSigningKey {
+
+    private final LuovParameters parameters;
+    private final int oil;
+    private final int vinegar;
+    private final GFMatrix C;
+    private final GFMatrix L_vinegar;
+    private final GFMatrix LT;
+    private final GFMatrix F;
+    private final GFMatrix T;
+    private final long[] vinegarPlanes;
+
+    /**
+     * Constructor Method.
+     * @param parts Constant, Linear and First Quadratic Part of Public Map.
+     * @param linearTrans Linear Transformation of the Private Key.
+     */
+    public ExpandedSigningKey(PublicMapParts parts, LinearTransformation linearTrans) {
+        this(parts, linearTrans.getTMatrix(), null);
+        expandEquations(parts, 0, oil);
+        sliceVinegar(parts.q1(), 0, vinegar);
+    }
+
+    /**
+     * Constructor Method Spreading the Expansion over an Executor.
+     * <p>
+     * Each equation k only writes its own block Fk of F, so the equations are
+     * split in chunks. The bitsliced Pk1 holds a bit of every equation in
+     * each word, so it is split by rows of the monomials instead. The result
+     * is the same as the sequential constructor.
+     * </p>
+     * @param parts Constant, Linear and First Quadratic Part of Public Map.
+     * @param linearTrans Linear Transformation of the Private Key.
+     * @param executor Executor that runs the Chunks.
+     * @throws java.lang.Exception if a chunk fails.
+     */
+    public ExpandedSigningKey(PublicMapParts parts, LinearTransformation linearTrans,
+            ExecutorService executor) throws Exception {
+        this(parts, linearTrans.getTMatrix(), null);
+        RangeTasks.run(executor, oil, 
+                (from, to) -> expandEquations(parts, from, to));
+        RangeTasks.run(executor, vinegar, 
+                (from, to) -> sliceVinegar(parts.q1(), from, to));
+    }
+
+    /**
+     * Constructor Method with the Matrix F Decoded from a Buffer.
+     * <p>
+     * F is the only part whose computation is expensive; the rest is derived
+     * again from the public map parts.
+     * </p>
+     * @param parts Constant, Linear and First Quadratic Part of Public Map.
+     * @param linearTrans Linear Transformation of the Private Key.
+     * @param in Buffer holding F as written by {@link #encode(ByteBuffer)}.
+     * @throws IllegalArgumentException if the encoding is not canonical.
+     */
+    public ExpandedSigningKey(PublicMapParts parts, LinearTransformation linearTrans,
+            ByteBuffer in) {
+        this(parts, linearTrans.getTMatrix(), decodeF(parts.getParameters(), in));
+        sliceVinegar(parts.q1(), 0, vinegar);
+    }
+
+    /**
+     * Constructor Method, Computes the Parts shared by every Equation.
+     * @param parts Constant, Linear and First Quadratic Part of Public Map.
+     * @param T Matrix T of the Linear Transformation.
+     * @param F Matrix F, or null to Compute it Later.
+     */
+    private ExpandedSigningKey(PublicMapParts parts, GFMatrix T, GFMatrix F) {
+        GFMatrix L = parts.getLMatrix();
+        this.parameters = parts.getParameters();
+        this.oil = parameters.getOilVar();
+        this.vinegar = parameters.getVinegarVar();
+        this.T = T;
+        this.C = parts.getCMatrix();
+        this.L_vinegar = L.slice(0, 0, oil, vinegar);
+        this.LT = GFMatrix.multiply(L_vinegar, T, new GFMatrix(oil, oil))
+                .addInPlace(L.slice(0, vinegar, oil, oil));
+        this.F = F != null ? F : new GFMatrix(vinegar, oil*oil);
+        this.vinegarPlanes = new long[parameters.getVinegarMonomials()*FIELD];
+    }
+
+    /**
+     * Decodes the Matrix F of a Parameter Set.
+     * @param parameters Parameter Set of the Private Key.
+     * @param in Buffer holding F as written by {@link #encode(ByteBuffer)}.
+     * @return Matrix F (VINEGAR_VAR x OIL_VAR^2).
+     */
+    private static GFMatrix decodeF(LuovParameters parameters, ByteBuffer in) {
+        int oil = parameters.getOilVar();
+        int vinegar = parameters.getVinegarVar();
+        return new GFMatrix(Pack.decodePacked(in, vinegar*oil*oil), vinegar, oil*oil);
+    }
+
+    /**
+     * Get the Length of the Encoded Form.
+     * @param parameters Parameter Set of the Private Key.
+     * @return Bytes written by {@link #encode(ByteBuffer)}.
+     */
+    public static int encodedLength(LuovParameters parameters) {
+        int oil = parameters.getOilVar();
+        return Pack.packedLength(parameters.getVinegarVar()*oil*oil);
+    }
+
+    /**
+     * Get the Parameter Set of the Private Key.
+     * @return Parameter Set.
+     */
+    public LuovParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Encodes the Matrix F, 7 Bits per Element.
+     * @param out Destination Buffer, its Position is Advanced.
+     */
+    public void encode(ByteBuffer out) {
+        Pack.encodePacked(Pack.encode(F), out);
+    }
+
+    /**
+     * Computes Fk = (Pk1 + Pk1^T)*T + Pk2 for a Range of Equations.
+     * @param parts Constant, Linear and First Quadratic Part of Public Map.
+     * @param from First Equation.
+     * @param to Last Equation plus One.
+     */
+    private void expandEquations(PublicMapParts parts, int from, int to) {
+        GFMatrix Pk1 = new GFMatrix(vinegar, vinegar);
+        GFMatrix Pk2 = new GFMatrix(vinegar, oil);
+        GFMatrix sym = new GFMatrix(vinegar, vinegar);
+        for (int k = from; k < to; k++) {
+            parts.getPk1(k, Pk1);
+            parts.getPk2(k, Pk2);
+            sym.copyFrom(Pk1).addInPlace(Pk1.transpose());
+            GFMatrix Fk = F.slice(0, k*oil, vinegar, oil);
+            GFMatrix.multiply(sym, T, Fk).addInPlace(Pk2);
+        }
+    }
+
+    /**
+     * Bitslices the Monomials v_i*v_j of a Range of Rows i of every Pk1.
+     * @param Q1 Q1 Bytes of the Public Map.
+     * @param from First Row.
+     * @param to Last Row plus One.
+     */
+    private void sliceVinegar(byte[] Q1, int from, int to) {
+        int oil = this.oil;
+        int vinegar = this.vinegar;
+        int columns = parameters.getQ1Columns();
+        long[] planes = new long[FIELD];
+        for (int i = from; i < to; i++) {
+            int column = i*(vinegar + oil) - i*(i - 1)/2;
+            int monomial = i*vinegar - i*(i - 1)/2;
+            for (int j = i; j < vinegar; j++) {
+                Arrays.fill(planes, 0);
+                int index = column++;
+                for (int k = 0; k < oil; k++) {
+                    int value = Q1[index];
+                    for (int p = 0; p < FIELD; p++) {
+                        planes[p] |= (long) ((value >>> p) & 1) << k;
+                    }
+                    index += columns;
+                }
+                System.arraycopy(planes, 0, vinegarPlanes, monomial*FIELD, FIELD);
+                monomial++;
+            }
+        }
+    }
+
+    /**
+     * Buffers of a Signing Attempt, Reused by every Attempt of a same Thread.
+     * <p>
+     * Holds the augmented matrix, the views over it and the vinegar
+     * assignment and the scratch arrays of the vinegar evaluation, so
+     * building the equation system does not allocate.
+     * </p>
+     */
+    public static final class Workspace {
+
+        private final GFMatrix v;
+        private final GFMatrix vT;
+        private final GFMatrix A;
+        private final GFMatrix LHS;
+        private final GFMatrix RHS;
+        private final GFMatrix vinegarPart;
+        private final GFMatrix vinegarRow;
+        private final GFMatrix evaluation;
+        private final long[] buckets;
+        private final long[] groups;
+        private final long[] planes;
+
+        /**
+         * Constructor Method.
+         * @param parameters Parameter Set of the Signing Key.
+         * @param v Vinegar Vars Assign (VINEGAR_VAR x 1).
+         * @param A Matrix (OIL_VAR x OIL_VAR+1) where (LHS||RHS) is Stored.
+         */
+        public Workspace(LuovParameters parameters, GFMatrix v, GFMatrix A) {
+            int oil = parameters.getOilVar();
+            if (v.getRows() != parameters.getVinegarVar() || v.getColumns() != 1
+                    || A.getRows() != oil || A.getColumns() != oil + 1) {
+                throw new IllegalArgumentException("Matrix dimensions do not match");
+            }
+            this.v = v;
+            this.vT = v.transpose();
+            this.A = A;
+            this.LHS = A.slice(0, 0, oil, oil);
+            this.RHS = A.column(oil);
+            this.vinegarPart = new GFMatrix(oil, oil);
+            this.vinegarRow = vinegarPart.reshape(1, oil*oil);
+            this.evaluation = new GFMatrix(oil, 1);
+            this.buckets = new long[(1 << FIELD)*FIELD];
+            this.groups = new long[FIELD*FIELD];
+            this.planes = new long[FIELD];
+        }
+
+        /**
+         * Get the Augmented Matrix of the Workspace.
+         * @return Augmented Matrix (LHS||RHS).
+         */
+        public GFMatrix getA() {
+            return A;
+        }
+
+    }
+
+    /**
+     * Builds the Augmented Matrix for the Equation System to solve.
+     * <p>
+     * LHS = L*[T; I] + (v^T*Fk)_k and RHS = h + C + Lv*v + (v^T*Pk1*v)_k.
+     * This overload allocates a new workspace, signers should reuse one.
+     * </p>
+     * @param h Message Vector over GF(2^7).
+     * @param v Random Assign for Vinegar Vars.
+     * @return Augmented Matrix (LHS||RHS).
+     */
+    public GFMatrix buildAugmentedMatrix(GFMatrix h, GFMatrix v) {
+        return buildAugmentedMatrix(h,
+                new Workspace(parameters, v, new GFMatrix(oil, oil + 1)));
+    }
+
+    /**
+     * Builds the Augmented Matrix for the Equation System into a Workspace.
+     * @param h Message Vector over GF(2^7).
+     * @param work Workspace holding the Vinegar Vars Assign.
+     * @return Augmented Matrix of the Workspace.
+     */
+    public GFMatrix buildAugmentedMatrix(GFMatrix h, Workspace work) {
+        if (work.vinegarPart.getRows() != oil || work.v.getRows() != vinegar) {
+            throw new IllegalArgumentException("Parameter sets do not match");
+        }
+        GFMatrix.multiply(work.vT, F, work.vinegarRow);
+        work.LHS.copyFrom(LT).addInPlace(work.vinegarPart);
+        work.RHS.copyFrom(h).addInPlace(C).addInPlace(evaluateVinegar(work));
+        GFMatrix.multiplyAdd(L_vinegar, work.v, work.RHS);
+        return work.A;
+    }
+
+    /**
+     * Evaluates v^T*Pk1*v for Every Equation at Once.
+     * @param work Workspace holding the Vinegar Vars Assign.
+     * @return Column Vector (OIL_VAR x 1) of the Workspace.
+     */
+    private GFMatrix evaluateVinegar(Workspace work) {
+        int vinegar = this.vinegar;
+        byte[] mul = GaloisField.GF128.multTable();
+        GFMatrix v = work.v;
+        long[] buckets = work.buckets;
+        Arrays.fill(buckets, 0L);
+        int monomial = 0;
+        for (int i = 0; i < vinegar; i++) {
+            int vi = v.get(i, 0);
+            if (vi == 0) {
+                monomial += vinegar - i;
+                continue;
+            }
+            int base = vi << FIELD;
+            for (int j = i; j < vinegar; j++) {
+                BitslicedPublicMap.accumulate(buckets, vinegarPlanes,
+                        monomial*FIELD, mul[base | v.get(j, 0)]);
+                monomial++;
+            }
+        }
+        BitslicedPublicMap.reduce(buckets, work.groups, work.planes);
+        return BitslicedPublicMap.unslice(work.planes, work.evaluation);
+    }
+
+    /**
+     * Builds the Signature s = [[1v, T]; [0, 1m]] * [v; o].
+     * @param v Vinegar Vars Assign.
+     * @param o Oil Vars Solution.
+     * @return s Signature Matrix (N x 1).
+     */
+    public GFMatrix buildSignature(GFMatrix v, GFMatrix o) {
+        GFMatrix s = new GFMatrix(vinegar + oil, 1);
+        GFMatrix s_vinegar = s.slice(0, 0, vinegar, 1).copyFrom(v);
+        GFMatrix.multiplyAdd(T, o, s_vinegar);
+        s.slice(vinegar, 0, oil, 1).copyFrom(o);
+        return s;
+    }
+
+}
@@ -1,10 +1,7 @@
 
 package com.cripto.luov.utils;
 
-import static com.cripto.luov.LUOV.OIL_VAR;
-import static com.cripto.luov.LUOV.VINEGAR_VAR;
-import com.cripto.utils.functions.Functions;
-import java.math.BigInteger;
+import com.cripto.utils.models.GFMatrix;
 
 /**
  * Linear Transformation Class.
@@ -15,6 +12,7 @@ import java.math.BigInteger;
  */
 public class LinearTransformation {
     
+    private final LuovParameters parameters;
     private String T;
 
     /**
@@ -22,9 +20,27 @@ public class LinearTransformation {
      * @param T T Matrix Hex String.
      */
     public LinearTransformation(String T) {
+        this(LuovParameters.DEFAULT, T);
+    }
+
+    /**
+     * Constructor Method for a Parameter Set.
+     * @param parameters Parameter Set of the Private Key.
+     * @param T T Matrix Hex String.
+     */
+    public LinearTransformation(LuovParameters parameters, String T) {
+        this.parameters = parameters;
         this.T = T;
     }
 
+    /**
+     * Get the Parameter Set of the Private Key.
+     * @return Parameter Set.
+     */
+    public LuovParameters getParameters() {
+        return parameters;
+    }
+
     /**
      * Get T Matrix Hex String.
      * @return T Matrix Hex String.
@@ -35,16 +51,20 @@ public class LinearTransformation {
     
     /**
      * Generates a matrix of 0s and 1s from linearTrans Hex String.
-     * @return Integer (Binary) linearTrans Matrix.
+     * <p>
+     * Each row is stored as 16 hex digits whose low OIL_VAR bits, most
+     * significant first, are the row elements.
+     * </p>
+     * @return Binary linearTrans Matrix over GF(2^7).
      */
-    public int[][] getTMatrix() {
-        int[][] T_matrix = new int[VINEGAR_VAR][OIL_VAR];
-        for (int i = 0; i < VINEGAR_VAR; i++) {
-            String hex = T.substring(16*i, 16*(i+1));
-            String bin = Functions.padding((new BigInteger(
-                    hex, 16)).toString(2), OIL_VAR);
-            for (int j = 0; j < OIL_VAR; j++) {
-                T_matrix[i][j] = (int) (bin.charAt(j)) - 48;
+    public GFMatrix getTMatrix() {
+        int oil = parameters.getOilVar();
+        int vinegar = parameters.getVinegarVar();
+        GFMatrix T_matrix = new GFMatrix(vinegar, oil);
+        for (int i = 0; i < vinegar; i++) {
+            long bits = Long.parseUnsignedLong(T.substring(16*i, 16*(i+1)), 16);
+            for (int j = 0; j < oil; j++) {
+                T_matrix.set(i, j, (int) (bits >>> (oil - 1 - j)) & 1);
             }
         }
         return T_matrix;
@@ -54,14 +74,12 @@ public class LinearTransformation {
      * Builds the Linear Transformation Matrix [[1v, linearTrans]; [0, 1m]].
      * @return Linear Transformation Matrix (n x n).
      */
-    public int[][] buildLinearTransMatrix() {
-        int[][] T_matrix = getTMatrix();
-        int[][] upper = Functions.matrixColumnUnion(
-                Functions.identityMatrix(VINEGAR_VAR), T_matrix);
-        int[][] lower = Functions.matrixColumnUnion(
-                Functions.sameValueMatrix(OIL_VAR, VINEGAR_VAR, 0), 
-                Functions.identityMatrix(OIL_VAR));
-        return Functions.matrixRowUnion(upper, lower);
+    public GFMatrix buildLinearTransMatrix() {
+        int oil = parameters.getOilVar();
+        int vinegar = parameters.getVinegarVar();
+        GFMatrix result = GFMatrix.identity(vinegar + oil);
+        result.slice(0, vinegar, vinegar, oil).copyFrom(getTMatrix());
+        return result;
     }
     
 }
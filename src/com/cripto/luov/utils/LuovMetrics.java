@@ -0,0 +1,451 @@
+package com.cripto.luov.utils;
+
+import java.beans.ConstructorProperties;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * LUOV Metrics Class.
+ * <p>
+ * Counts and times the stages of key generation, signing and verification.
+ * Every stage has a latency histogram with one bucket per power of two of
+ * nanoseconds. All the counters are striped ({@link LongAdder}), so the
+ * recording threads never take a lock nor contend on a shared word and the
+ * metrics can be left on in production. They can be turned off with the
+ * system property {@code luov.metrics=false}.
+ * </p>
+ * <p>
+ * The single instance is registered in the platform MBean server under
+ * {@link #OBJECT_NAME}, and also reports the sizes of every live public key
+ * cache.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public final class LuovMetrics implements LuovMetricsMXBean {
+
+    /**
+     * Name of the MBean.
+     */
+    public static final String OBJECT_NAME = "com.cripto.luov:type=LuovMetrics";
+
+    /**
+     * Record Metrics?
+     */
+    public static final boolean ENABLED =
+            !"false".equalsIgnoreCase(System.getProperty("luov.metrics"));
+
+    /**
+     * Timed Stages.
+     */
+    public enum Stage {
+        /** Generation of C, L and Q1 from the public seed. */
+        EXPANSION,
+        /** Calculation of Q2 in key generation. */
+        FIND_Q2,
+        /** Hash of M||0x00||salt. */
+        HASH,
+        /** Construction of the augmented matrix of a signing attempt. */
+        AUGMENTED_MATRIX,
+        /** Gaussian solve of a signing attempt. */
+        SOLVE,
+        /** Whole signature. */
+        SIGN,
+        /** Evaluation of the public map. */
+        EVALUATE,
+        /** Whole verification. */
+        VERIFY
+    }
+
+    private static final LuovMetrics INSTANCE = new LuovMetrics();
+
+    static {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE,
+                    new ObjectName(OBJECT_NAME));
+        } catch (JMException | SecurityException e) {
+            // Metrics are still recorded, only not visible through JMX.
+        }
+    }
+
+    private final Histogram[] histograms;
+    private final LongAdder signatures = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final Set<PublicKeyCache> caches =
+            Collections.newSetFromMap(new WeakHashMap<>());
+
+    /**
+     * Constructor Method.
+     */
+    private LuovMetrics() {
+        this.histograms = new Histogram[Stage.values().length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new Histogram();
+        }
+    }
+
+    /**
+     * Get the Metrics Instance.
+     * @return Metrics.
+     */
+    public static LuovMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the Start Time of a Stage.
+     * @return Current Nano Time, or 0 if Metrics are Disabled.
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record the Latency of a Stage.
+     * @param stage Finished Stage.
+     * @param start Value Returned by {@link #start()}.
+     */
+    public static void record(Stage stage, long start) {
+        if (ENABLED) {
+            INSTANCE.histograms[stage.ordinal()].add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Record a Signature and the Vinegar Assignments it Needed.
+     * @param tries Number of Attempts.
+     */
+    public static void recordSignature(int tries) {
+        if (ENABLED) {
+            INSTANCE.signatures.increment();
+            INSTANCE.attempts.add(tries);
+        }
+    }
+
+    /**
+     * Report the Sizes of a Public Key Cache while it is Reachable.
+     * @param cache Public Key Cache.
+     */
+    static void register(PublicKeyCache cache) {
+        synchronized (INSTANCE.caches) {
+            INSTANCE.caches.add(cache);
+        }
+    }
+
+    /**
+     * Get a Copy of the Live Public Key Caches.
+     * @return Public Key Caches.
+     */
+    private List<PublicKeyCache> caches() {
+        synchronized (caches) {
+            return new ArrayList<>(caches);
+        }
+    }
+
+    @Override
+    public List<StageSnapshot> getStages() {
+        List<StageSnapshot> result = new ArrayList<>();
+        for (Stage stage : Stage.values()) {
+            result.add(histograms[stage.ordinal()].snapshot(stage.name()));
+        }
+        return result;
+    }
+
+    /**
+     * Get the Latency Statistics of a Stage.
+     * @param stage Stage.
+     * @return Stage Snapshot.
+     */
+    public StageSnapshot getStage(Stage stage) {
+        return histograms[stage.ordinal()].snapshot(stage.name());
+    }
+
+    @Override
+    public long getSignatureCount() {
+        return signatures.sum();
+    }
+
+    @Override
+    public long getSignAttemptCount() {
+        return attempts.sum();
+    }
+
+    @Override
+    public long getSignRetryCount() {
+        return attempts.sum() - signatures.sum();
+    }
+
+    @Override
+    public int getHotCacheSize() {
+        int size = 0;
+        for (PublicKeyCache cache : caches()) {
+            size += cache.getHotSize();
+        }
+        return size;
+    }
+
+    @Override
+    public long getHotCacheBytes() {
+        long bytes = 0;
+        for (PublicKeyCache cache : caches()) {
+            bytes += cache.getHotBytes();
+        }
+        return bytes;
+    }
+
+    @Override
+    public int getColdCacheSize() {
+        int size = 0;
+        for (PublicKeyCache cache : caches()) {
+            size += cache.getColdSize();
+        }
+        return size;
+    }
+
+    @Override
+    public long getCacheHitCount() {
+        long count = 0;
+        for (PublicKeyCache cache : caches()) {
+            count += cache.getHitCount();
+        }
+        return count;
+    }
+
+    @Override
+    public long getCacheMissCount() {
+        long count = 0;
+        for (PublicKeyCache cache : caches()) {
+            count += cache.getMissCount();
+        }
+        return count;
+    }
+
+    @Override
+    public void reset() {
+        for (Histogram histogram : histograms) {
+            histogram.reset();
+        }
+        signatures.reset();
+        attempts.reset();
+    }
+
+    /**
+     * Lock Free Latency Histogram.
+     */
+    private static final class Histogram {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] buckets = new LongAdder[Long.SIZE];
+
+        /**
+         * Constructor Method.
+         */
+        private Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Add a Latency, in Bucket floor(log2(nanos)) + 1.
+         * @param nanos Latency in Nanoseconds.
+         */
+        private void add(long nanos) {
+            if (nanos < 0) {
+                nanos = 0;
+            }
+            count.increment();
+            total.add(nanos);
+            max.accumulate(nanos);
+            buckets[Math.min(Long.SIZE - Long.numberOfLeadingZeros(nanos),
+                    Long.SIZE - 1)].increment();
+        }
+
+        /**
+         * Set every Counter to 0.
+         */
+        private void reset() {
+            count.reset();
+            total.reset();
+            max.reset();
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+        }
+
+        /**
+         * Take a Snapshot of the Histogram.
+         * @param name Stage Name.
+         * @return Stage Snapshot.
+         */
+        private StageSnapshot snapshot(String name) {
+            long[] counts = new long[buckets.length];
+            long sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets[i].sum();
+                sum += counts[i];
+            }
+            return new StageSnapshot(name, count.sum(), total.sum(), max.get(),
+                    percentile(counts, sum, 0.5), percentile(counts, sum, 0.9),
+                    percentile(counts, sum, 0.99), counts);
+        }
+
+        /**
+         * Get the Upper Bound of the Bucket holding a Percentile.
+         * @param counts Bucket Counts.
+         * @param sum Total of the Bucket Counts.
+         * @param fraction Percentile in (0, 1].
+         * @return Latency Upper Bound in Nanoseconds.
+         */
+        private static long percentile(long[] counts, long sum, double fraction) {
+            long rank = (long) Math.ceil(sum*fraction);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && seen > 0) {
+                    return i == 0 ? 0 : (1L << i) - 1;
+                }
+            }
+            return 0;
+        }
+
+    }
+
+    /**
+     * Latency Statistics of a Stage.
+     */
+    public static final class StageSnapshot {
+
+        private final String name;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long p50Nanos;
+        private final long p90Nanos;
+        private final long p99Nanos;
+        private final long[] histogram;
+
+        /**
+         * Constructor Method.
+         * @param name Stage Name.
+         * @param count Number of Records.
+         * @param totalNanos Sum of Latencies.
+         * @param maxNanos Maximum Latency.
+         * @param p50Nanos Median Latency Upper Bound.
+         * @param p90Nanos 90th Percentile Latency Upper Bound.
+         * @param p99Nanos 99th Percentile Latency Upper Bound.
+         * @param histogram Count of Bucket i, Latencies in [2^(i-1), 2^i).
+         */
+        @ConstructorProperties({"name", "count", "totalNanos", "maxNanos",
+                "p50Nanos", "p90Nanos", "p99Nanos", "histogram"})
+        public StageSnapshot(String name, long count, long totalNanos,
+                long maxNanos, long p50Nanos, long p90Nanos, long p99Nanos,
+                long[] histogram) {
+            this.name = name;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.p50Nanos = p50Nanos;
+            this.p90Nanos = p90Nanos;
+            this.p99Nanos = p99Nanos;
+            this.histogram = histogram.clone();
+        }
+
+        /**
+         * Get the Stage Name.
+         * @return Stage Name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the Number of Records.
+         * @return Record Count.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Get the Sum of Latencies.
+         * @return Total Nanoseconds.
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * Get the Mean Latency.
+         * @return Mean Nanoseconds.
+         */
+        public long getMeanNanos() {
+            return count == 0 ? 0 : totalNanos/count;
+        }
+
+        /**
+         * Get the Maximum Latency.
+         * @return Maximum Nanoseconds.
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Get the Median Latency Upper Bound.
+         * @return Nanoseconds.
+         */
+        public long getP50Nanos() {
+            return p50Nanos;
+        }
+
+        /**
+         * Get the 90th Percentile Latency Upper Bound.
+         * @return Nanoseconds.
+         */
+        public long getP90Nanos() {
+            return p90Nanos;
+        }
+
+        /**
+         * Get the 99th Percentile Latency Upper Bound.
+         * @return Nanoseconds.
+         */
+        public long getP99Nanos() {
+            return p99Nanos;
+        }
+
+        /**
+         * Get the Latency Histogram.
+         * @return Count of Bucket i, Latencies in [2^(i-1), 2^i).
+         */
+        public long[] getHistogram() {
+            return histogram.clone();
+        }
+
+        /**
+         * Override of toString of the Object.
+         * @return To String of the Object.
+         */
+        @Override
+        public String toString() {
+            return name + "[count=" + count + ", mean=" + getMeanNanos()
+                    + "ns, p50<=" + p50Nanos + "ns, p99<=" + p99Nanos
+                    + "ns, max=" + maxNanos + "ns]";
+        }
+
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.cripto.luov.utils;
+
+import java.util.List;
+
+/**
+ * LUOV Metrics Management Interface.
+ * <p>
+ * Registered in the platform MBean server as
+ * {@code com.cripto.luov:type=LuovMetrics}.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public interface LuovMetricsMXBean {
+
+    /**
+     * Get the Latency Statistics of every Stage.
+     * @return One Snapshot per Stage.
+     */
+    List<LuovMetrics.StageSnapshot> getStages();
+
+    /**
+     * Get the Number of Signatures Produced.
+     * @return Signature Count.
+     */
+    long getSignatureCount();
+
+    /**
+     * Get the Number of Vinegar Assignments Tried.
+     * @return Attempt Count.
+     */
+    long getSignAttemptCount();
+
+    /**
+     * Get the Number of Vinegar Assignments Discarded.
+     * @return Retry Count.
+     */
+    long getSignRetryCount();
+
+    /**
+     * Get the Number of Expanded Public Maps in the Hot Tiers.
+     * @return Hot Tier Size of every Public Key Cache.
+     */
+    int getHotCacheSize();
+
+    /**
+     * Get the Bytes used by the Hot Tiers.
+     * @return Hot Tier Bytes of every Public Key Cache.
+     */
+    long getHotCacheBytes();
+
+    /**
+     * Get the Number of Public Keys in the Cold Tiers.
+     * @return Cold Tier Size of every Public Key Cache.
+     */
+    int getColdCacheSize();
+
+    /**
+     * Get the Number of Public Key Cache Hits.
+     * @return Hit Count of every Public Key Cache.
+     */
+    long getCacheHitCount();
+
+    /**
+     * Get the Number of Public Key Cache Misses.
+     * @return Miss Count of every Public Key Cache.
+     */
+    long getCacheMissCount();
+
+    /**
+     * Set every Counter and Histogram to 0.
+     */
+    void reset();
+
+}
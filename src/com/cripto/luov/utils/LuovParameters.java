@@ -0,0 +1,196 @@
+package com.cripto.luov.utils;
+
+import com.cripto.luov.LUOV;
+
+/**
+ * LUOV Parameter Set Class.
+ * <p>
+ * Number of oil and vinegar variables of a LUOV instance over GF(2^7), and
+ * every length derived from them. Keys, signatures and public maps carry
+ * their parameter set, so instances with different sets can be used in the
+ * same process.
+ * </p>
+ * <p>
+ * The derivations of this implementation bound the sets: at most 57 oil
+ * variables (57 random bits per row of T, FIELD*OIL_VAR bits of the 512 bit
+ * message digest, one long per bit-plane), a number of vinegar variables
+ * equal to 1 mod 4 (four rows of T per AES step plus one) and at most 511
+ * variables (a row of L in a ChaCha block).
+ * </p>
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public final class LuovParameters {
+
+    /**
+     * Reduced Set LUOV-7-37-125, for Higher Throughput.
+     */
+    public static final LuovParameters LUOV_7_37_125 = new LuovParameters(37, 125);
+
+    /**
+     * Reference Set LUOV-7-57-197.
+     */
+    public static final LuovParameters LUOV_7_57_197 =
+            new LuovParameters(LUOV.OIL_VAR, LUOV.VINEGAR_VAR);
+
+    /**
+     * Set LUOV-7-57-249, with more Vinegar Variables.
+     */
+    public static final LuovParameters LUOV_7_57_249 = new LuovParameters(57, 249);
+
+    /**
+     * Default Set, the Reference one.
+     */
+    public static final LuovParameters DEFAULT = LUOV_7_57_197;
+
+    /**
+     * Maximum Number of Oil Variables.
+     */
+    public static final int MAX_OIL_VAR = 57;
+
+    private final int oilVar;
+    private final int vinegarVar;
+    private final int n;
+    private final int q1Columns;
+    private final int q2Columns;
+
+    /**
+     * Constructor Method.
+     * @param oilVar Number of Oil Variables (Equations).
+     * @param vinegarVar Number of Vinegar Variables.
+     * @throws IllegalArgumentException if the set is not supported.
+     */
+    public LuovParameters(int oilVar, int vinegarVar) {
+        if (oilVar < 1 || oilVar > MAX_OIL_VAR || vinegarVar < 1
+                || vinegarVar % 4 != 1 || oilVar + vinegarVar + 1 > 512) {
+            throw new IllegalArgumentException("Unsupported parameter set LUOV-"
+                    + LUOV.FIELD + "-" + oilVar + "-" + vinegarVar);
+        }
+        this.oilVar = oilVar;
+        this.vinegarVar = vinegarVar;
+        this.n = oilVar + vinegarVar;
+        this.q1Columns = vinegarVar*(vinegarVar + 1)/2 + vinegarVar*oilVar;
+        this.q2Columns = oilVar*(oilVar + 1)/2;
+    }
+
+    /**
+     * Get the Number of Oil Variables.
+     * @return Oil Variables, also the Number of Equations.
+     */
+    public int getOilVar() {
+        return oilVar;
+    }
+
+    /**
+     * Get the Number of Vinegar Variables.
+     * @return Vinegar Variables.
+     */
+    public int getVinegarVar() {
+        return vinegarVar;
+    }
+
+    /**
+     * Get the Number of Variables.
+     * @return N = OIL_VAR + VINEGAR_VAR, also the Signature Length.
+     */
+    public int getN() {
+        return n;
+    }
+
+    /**
+     * Get the Length of the Constant Part C.
+     * @return Elements of C.
+     */
+    public int getCLength() {
+        return oilVar;
+    }
+
+    /**
+     * Get the Length of the Linear Part L.
+     * @return Elements of L.
+     */
+    public int getLLength() {
+        return oilVar*n;
+    }
+
+    /**
+     * Get the Columns of Q1.
+     * @return Columns of Q1, one per Monomial with a Vinegar Variable.
+     */
+    public int getQ1Columns() {
+        return q1Columns;
+    }
+
+    /**
+     * Get the Length of Q1.
+     * @return Elements of Q1.
+     */
+    public int getQ1Length() {
+        return oilVar*q1Columns;
+    }
+
+    /**
+     * Get the Columns of Q2.
+     * @return Columns of Q2, one per Oil-Oil Monomial.
+     */
+    public int getQ2Columns() {
+        return q2Columns;
+    }
+
+    /**
+     * Get the Length of Q2.
+     * @return Elements of Q2.
+     */
+    public int getQ2Length() {
+        return oilVar*q2Columns;
+    }
+
+    /**
+     * Get the Number of Vinegar-Vinegar Monomials.
+     * @return VINEGAR_VAR*(VINEGAR_VAR + 1)/2.
+     */
+    public int getVinegarMonomials() {
+        return vinegarVar*(vinegarVar + 1)/2;
+    }
+
+    /**
+     * Override of equals of the Object.
+     * @param obj Object to Compare.
+     * @return Same Parameter Set?
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LuovParameters)) {
+            return false;
+        }
+        LuovParameters other = (LuovParameters) obj;
+        return oilVar == other.oilVar && vinegarVar == other.vinegarVar;
+    }
+
+    /**
+     * Override of hashCode of the Object.
+     * @return Hash Code of the Object.
+     */
+    @Override
+    public int hashCode() {
+        return 31*oilVar + vinegarVar;
+    }
+
+    /**
+     * Override of toString of the Object.
+     * @return Name of the Set, LUOV-FIELD-OIL_VAR-VINEGAR_VAR.
+     */
+    @Override
+    public String toString() {
+        return "LUOV-" + LUOV.FIELD + "-" + oilVar + "-" + vinegarVar;
+    }
+
+}
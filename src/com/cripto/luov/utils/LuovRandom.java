@@ -0,0 +1,183 @@
+package com.cripto.luov.utils;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import org.bouncycastle.crypto.engines.ChaChaEngine;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.crypto.params.ParametersWithIV;
+
+/**
+ * Per Thread ChaCha DRBG Class.
+ * <p>
+ * Every thread gets its own generator, so drawing salts and vinegar values
+ * never blocks nor contends with other threads. Only a single root generator
+ * is seeded from the strong source, once per process; the key of each thread
+ * generator is drawn from the root and mixed with bytes of the non-blocking
+ * system source, so starting threads never wait for entropy. The generator
+ * refills a block of ChaCha20 output at a time and uses the first 32 bytes of
+ * each block as the next key (fast key erasure), so earlier outputs can not
+ * be recovered from its state. Every {@link #RESEED_INTERVAL} blocks fresh
+ * entropy from the non-blocking system source is mixed into the key.
+ * </p>
+ * <p>
+ * Instances are not thread safe and must not be shared; use
+ * {@link #current()}.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public final class LuovRandom {
+
+    /**
+     * Blocks Generated between Two Reseeds.
+     */
+    public static final int RESEED_INTERVAL = 1 << 12;
+
+    private static final int KEY_LENGTH = 32;
+    private static final int BLOCK_LENGTH = 1024;
+    private static final byte[] NONCE = new byte[8];
+
+    private static final SecureRandom RESEED_SOURCE = new SecureRandom();
+
+    private static final ThreadLocal<LuovRandom> CURRENT =
+            ThreadLocal.withInitial(LuovRandom::new);
+
+    private final ChaChaEngine chacha = new ChaChaEngine();
+    private final byte[] zeros = new byte[KEY_LENGTH + BLOCK_LENGTH];
+    private final byte[] block = new byte[KEY_LENGTH + BLOCK_LENGTH];
+    private final byte[] key = new byte[KEY_LENGTH];
+    private int position;
+    private int blocks;
+
+    /**
+     * Root Generator, Seeded from the Strong Source on First Use.
+     */
+    private static final class Root {
+
+        private static final LuovRandom ROOT = new LuovRandom(strongSeed());
+
+        /**
+         * Draw the Seed of the Root Generator from the Strong Source.
+         * @return Seed (32 bytes).
+         */
+        private static byte[] strongSeed() {
+            try {
+                return PRNG.randomBytes(KEY_LENGTH);
+            } catch (Exception e) {
+                throw new IllegalStateException("No strong random source", e);
+            }
+        }
+
+    }
+
+    /**
+     * Constructor Method, Seeds from the Root Generator.
+     */
+    private LuovRandom() {
+        this(derivedSeed());
+    }
+
+    /**
+     * Constructor Method.
+     * @param seed Initial Key (32 bytes), erased after use.
+     */
+    private LuovRandom(byte[] seed) {
+        System.arraycopy(seed, 0, key, 0, KEY_LENGTH);
+        Arrays.fill(seed, (byte) 0);
+        refill();
+    }
+
+    /**
+     * Derive the Seed of a Thread Generator.
+     * <p>
+     * Key bytes of the root generator mixed with fresh bytes of the
+     * non-blocking source.
+     * </p>
+     * @return Seed (32 bytes).
+     */
+    private static byte[] derivedSeed() {
+        byte[] seed = new byte[KEY_LENGTH];
+        LuovRandom root = Root.ROOT;
+        synchronized (root) {
+            root.nextBytes(seed);
+        }
+        byte[] fresh = new byte[KEY_LENGTH];
+        RESEED_SOURCE.nextBytes(fresh);
+        for (int i = 0; i < KEY_LENGTH; i++) {
+            seed[i] ^= fresh[i];
+        }
+        return seed;
+    }
+
+    /**
+     * Get the Generator of the Current Thread.
+     * @return Random Generator owned by the Current Thread.
+     */
+    public static LuovRandom current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Fill an Array with Random Bytes.
+     * @param bytes Destination Array.
+     */
+    public void nextBytes(byte[] bytes) {
+        nextBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Fill part of an Array with Random Bytes.
+     * @param bytes Destination Array.
+     * @param offset First Index.
+     * @param length Number of Bytes.
+     */
+    public void nextBytes(byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            if (position == block.length) {
+                refill();
+            }
+            int n = Math.min(length, block.length - position);
+            System.arraycopy(block, position, bytes, offset, n);
+            Arrays.fill(block, position, position + n, (byte) 0);
+            position += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Fill an Array with Uniform Random Elements of GF(2^7).
+     * <p>
+     * Each element is the low 7 bits of a random byte.
+     * </p>
+     * @param elements Destination Array, one Element per Byte.
+     */
+    public void nextElements(byte[] elements) {
+        nextBytes(elements);
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] &= 0x7F;
+        }
+    }
+
+    /**
+     * Generate the Next Block, Rekeying with its First Bytes.
+     */
+    private void refill() {
+        if (++blocks == RESEED_INTERVAL) {
+            byte[] fresh = new byte[KEY_LENGTH];
+            RESEED_SOURCE.nextBytes(fresh);
+            for (int i = 0; i < KEY_LENGTH; i++) {
+                key[i] ^= fresh[i];
+            }
+            blocks = 0;
+        }
+        chacha.init(true, new ParametersWithIV(new KeyParameter(key), NONCE));
+        chacha.processBytes(zeros, 0, zeros.length, block, 0);
+        System.arraycopy(block, 0, key, 0, KEY_LENGTH);
+        Arrays.fill(block, 0, KEY_LENGTH, (byte) 0);
+        position = KEY_LENGTH;
+    }
+
+}
@@ -1,9 +1,6 @@
 
 package com.cripto.luov.utils;
 
-import static com.cripto.luov.LUOV.OIL_VAR;
-import static com.cripto.luov.LUOV.VINEGAR_VAR;
-import com.cripto.utils.functions.Functions;
 import java.security.SecureRandom;
 import java.util.Arrays;
 import org.bouncycastle.crypto.digests.KeccakDigest;
@@ -41,9 +38,30 @@ public class PRNG {
      * @return Hashed Byte Array.
      */
     public static byte[] getHashDigest(byte[] data, double bitLength) {
-        int byteLength = (int) (Math.ceil(bitLength/8));
-        KeccakDigest digest = new KeccakDigest(512);
+        KeccakDigest digest = newHashDigest();
         digest.update(data, 0, data.length);
+        return getHashDigest(digest, bitLength);
+    }
+    
+    /**
+     * Create the Keccak512 Digest used by getHashDigest.
+     * <p>
+     * The data can then be given to the digest in pieces, as it is read.
+     * </p>
+     * @return Keccak512 Digest.
+     */
+    public static KeccakDigest newHashDigest() {
+        return new KeccakDigest(512);
+    }
+    
+    /**
+     * Finish a Digest taking only the Required Bits.
+     * @param digest Keccak512 Digest that has Absorbed the Data.
+     * @param bitLength Required Bit Length.
+     * @return Hashed Byte Array, the Same as getHashDigest of the Data.
+     */
+    public static byte[] getHashDigest(KeccakDigest digest, double bitLength) {
+        int byteLength = (int) (Math.ceil(bitLength/8));
         byte[] afterHash = new byte[64];
         digest.doFinal(afterHash, 0);
         byte[] result = Arrays.copyOf(afterHash, byteLength);
@@ -60,67 +78,131 @@ public class PRNG {
      * @throws java.lang.Exception
      */
     public static PublicMapParts generateCLQ1(String public_seed) throws Exception {
-        int N = OIL_VAR + VINEGAR_VAR;
-        int DIM = (VINEGAR_VAR*(VINEGAR_VAR + 1)/2) + (VINEGAR_VAR * OIL_VAR);
-        String C = "";
-        String L = "";
-        String Q1 = "";
-        byte[] initKey = Hex.decode(public_seed);
-        String hash = Hex.toHexString(generateInternalHash512(Arrays.copyOf(
-                initKey, initKey.length)));
-        String processHash = hash + hash + hash + hash;
-        byte[] processData = Hex.decode(processHash);
-        ChaChaEngine chacha = new ChaChaEngine();
-        for (int i = 0; i < OIL_VAR; i++) {
-            String nonce = Functions.padding("" + i, 8);
-            chacha.init(true, new ParametersWithIV(new KeyParameter(initKey), 
-                    nonce.getBytes()));
-            byte[] resultData = new byte[512];
-            chacha.processBytes(processData, 0, processData.length, resultData, 0);
-            processData = Arrays.copyOf(resultData, resultData.length);
-            //For C
-            byte[] aux_C = Arrays.copyOfRange(resultData, 0, 1);
-            for (int j = 0; j < aux_C.length; j++) {
-                if(aux_C[j] < 0) {
-                    aux_C[j] = (byte) (128 + aux_C[j]);
-                }
-            }
-            C += Hex.toHexString(aux_C);
-            //For L
-            byte[] aux_L = Arrays.copyOfRange(resultData, 1, N+1);
-            for (int j = 0; j < aux_L.length; j++) {
-                if(aux_L[j] < 0) {
-                    aux_L[j] = (byte) (128 + aux_L[j]);
+        return generateCLQ1(Hex.decode(public_seed));
+    }
+    
+    /**
+     * Generates a pseudo random C, L, Q1 using Chacha Engine.
+     * <p>
+     * Each 512 bytes ChaCha block is chained as the input of the next one.
+     * The first OIL_VAR blocks give one element of C, a row of L and the 
+     * start of Q1; the following blocks only Q1. Every byte is reduced to 
+     * GF(2^7) dropping its high bit and written straight into the final 
+     * arrays, generation stops as soon as C, L and Q1 are full. With few
+     * vinegar variables Q1 fills before the last row of C and L, whose
+     * blocks are still generated.
+     * </p>
+     * @param publicSeed Public Seed Bytes of LUOV cryptosystem.
+     * @return Public Map Parts C, L, Q1.
+     */
+    public static PublicMapParts generateCLQ1(byte[] publicSeed) {
+        return generateCLQ1(LuovParameters.DEFAULT, publicSeed);
+    }
+    
+    /**
+     * Generates a pseudo random C, L, Q1 of a Parameter Set.
+     * @param parameters Parameter Set of the Public Map.
+     * @param publicSeed Public Seed Bytes of LUOV cryptosystem.
+     * @return Public Map Parts C, L, Q1.
+     */
+    public static PublicMapParts generateCLQ1(LuovParameters parameters, byte[] publicSeed) {
+        long start = LuovMetrics.start();
+        int oil = parameters.getOilVar();
+        int N = parameters.getN();
+        byte[] C = new byte[parameters.getCLength()];
+        byte[] L = new byte[parameters.getLLength()];
+        byte[] Q1 = new byte[parameters.getQ1Length()];
+        PublicMapStream stream = new PublicMapStream(publicSeed);
+        int filled = 0;
+        for (int i = 0; i < oil || filled < Q1.length; i++) {
+            byte[] resultData = stream.next();
+            int from = 0;
+            if (i < oil) {
+                //For C
+                C[i] = (byte) (resultData[0] & 0x7F);
+                //For L
+                for (int j = 0; j < N; j++) {
+                    L[i*N + j] = (byte) (resultData[1 + j] & 0x7F);
                 }
+                from = N + 1;
             }
-            L += Hex.toHexString(aux_L);
             //For Q1
-            byte[] aux_Q1 = Arrays.copyOfRange(resultData, N+1, resultData.length);
-            for (int j = 0; j < aux_Q1.length; j++) {
-                if(aux_Q1[j] < 0) {
-                    aux_Q1[j] = (byte) (128 + aux_Q1[j]);
-                }
+            int length = Math.min(resultData.length - from, Q1.length - filled);
+            for (int j = 0; j < length; j++) {
+                Q1[filled + j] = (byte) (resultData[from + j] & 0x7F);
             }
-            Q1 += Hex.toHexString(aux_Q1);
+            filled += length;
         }
-        for (int i = OIL_VAR; i < OIL_VAR*(OIL_VAR + 4); i++) {
-            String nonce = Functions.padding("" + i, 8);
-            chacha.init(true, new ParametersWithIV(new KeyParameter(initKey), 
-                    nonce.getBytes()));
-            byte[] resultData = new byte[512];
-            chacha.processBytes(processData, 0, processData.length, resultData, 0);
-            processData = Arrays.copyOf(resultData, resultData.length);
-            //For Q1
-            byte[] aux_Q1 = Arrays.copyOf(resultData, resultData.length);
-            for (int j = 0; j < aux_Q1.length; j++) {
-                if(aux_Q1[j] < 0) {
-                    aux_Q1[j] = (byte) (128 + aux_Q1[j]);
-                }
+        LuovMetrics.record(LuovMetrics.Stage.EXPANSION, start);
+        return new PublicMapParts(parameters, C, L, Q1);
+    }
+    
+    /**
+     * Keystream of the Public Map of a Public Seed.
+     * <p>
+     * The 512 bytes ChaCha blocks read by generateCLQ1, in order. Each block
+     * is chained as the input of the next one, so only two blocks are kept,
+     * swapped at every step.
+     * </p>
+     */
+    static final class PublicMapStream {
+
+        /**
+         * Length of a Block.
+         */
+        static final int BLOCK_LENGTH = 512;
+
+        private final KeyParameter key;
+        private final ChaChaEngine chacha = new ChaChaEngine();
+        private byte[] processData;
+        private byte[] resultData = new byte[BLOCK_LENGTH];
+        private byte[] spare = new byte[BLOCK_LENGTH];
+        private int index;
+
+        /**
+         * Constructor Method.
+         * @param publicSeed Public Seed Bytes of LUOV cryptosystem.
+         */
+        PublicMapStream(byte[] publicSeed) {
+            byte[] initKey = Arrays.copyOf(publicSeed, publicSeed.length);
+            byte[] hash = generateInternalHash512(Arrays.copyOf(
+                    initKey, initKey.length));
+            this.processData = new byte[4*hash.length];
+            for (int i = 0; i < 4; i++) {
+                System.arraycopy(hash, 0, processData, i*hash.length, hash.length);
             }
-            Q1 += Hex.toHexString(aux_Q1);
+            this.key = new KeyParameter(initKey);
+        }
+
+        /**
+         * Generates the Next Block.
+         * @return Block Bytes (BLOCK_LENGTH), Valid until the Second Next 
+         * Call.
+         */
+        byte[] next() {
+            chacha.init(true, new ParametersWithIV(key, nonce(index++)));
+            chacha.processBytes(processData, 0, processData.length, resultData, 0);
+            //Chain the block as next input, swapping the two 512 bytes buffers
+            processData = resultData;
+            resultData = spare;
+            spare = processData;
+            return processData;
+        }
+
+    }
+    
+    /**
+     * Generates the ChaCha Nonce of a Block, its Index as 8 Decimal Digits.
+     * @param index Block Index.
+     * @return Nonce Bytes.
+     */
+    private static byte[] nonce(int index) {
+        byte[] nonce = new byte[8];
+        for (int i = nonce.length - 1; i >= 0; i--) {
+            nonce[i] = (byte) ('0' + index % 10);
+            index /= 10;
         }
-        Q1 = Q1.substring(0, 2*OIL_VAR*DIM);
-        return new PublicMapParts(C, L, Q1);
+        return nonce;
     }
     
     /**
@@ -1,12 +1,24 @@
-
 package com.cripto.luov.utils;
 
 import static com.cripto.luov.LUOV.OIL_VAR;
 import com.cripto.utils.functions.Pack;
+import com.cripto.utils.models.GFMatrix;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import org.bouncycastle.util.encoders.Hex;
 
 /**
  * Public Key Object Class.
+ * <p>
+ * Q2 is kept in binary form, one byte per GF(2^7) element in row-major order;
+ * the hex form is generated on demand.
+ * </p>
+ * <p>
+ * The encoded form is the public seed followed by Q2 packed 7 bits per
+ * element, least significant bit first: 32 + 82444 bytes for LUOV-7-57-197.
+ * It does not name the parameter set, the decoder is given it. The expanded
+ * public map is sliced straight from the decoded Q2.
+ * </p>
  * @author Eduardo Angulo
  * @author Sebastián Cabarcas
  * @author Andrés Duarte
@@ -14,8 +26,29 @@ import org.bouncycastle.util.encoders.Hex;
  */
 public class PublicKey {
     
-    private String publicSeed;
-    private String Q2;
+    /**
+     * Number of Columns of Q2 of the Default Parameter Set.
+     */
+    public static final int Q2_COLUMNS = OIL_VAR*(OIL_VAR + 1)/2;
+    
+    /**
+     * Number of Elements of Q2 of the Default Parameter Set.
+     */
+    public static final int Q2_LENGTH = OIL_VAR*Q2_COLUMNS;
+    
+    /**
+     * Number of Bytes of the Public Seed.
+     */
+    public static final int SEED_LENGTH = 32;
+    
+    /**
+     * Number of Bytes of the Encoded Form of the Default Parameter Set.
+     */
+    public static final int ENCODED_LENGTH = encodedLength(LuovParameters.DEFAULT);
+    
+    private final LuovParameters parameters;
+    private final String publicSeed;
+    private final byte[] Q2;
 
     /**
      * Constructor Method.
@@ -23,8 +56,105 @@ public class PublicKey {
      * @param Q2 Q2 Matrix Hex String of LUOV Cryptosystem.
      */
     public PublicKey(String publicSeed, String Q2) {
-        this.publicSeed = publicSeed;
-        this.Q2 = Q2;
+        this(LuovParameters.DEFAULT, publicSeed, Q2);
+    }
+    
+    /**
+     * Constructor Method for a Parameter Set.
+     * @param parameters Parameter Set of the Key.
+     * @param publicSeed Public Seed Hex String of LUOV Cryptosystem.
+     * @param Q2 Q2 Matrix Hex String of LUOV Cryptosystem.
+     */
+    public PublicKey(LuovParameters parameters, String publicSeed, String Q2) {
+        this(parameters, Hex.decode(publicSeed), 
+                Pack.fromHex(Q2, parameters.getQ2Length()));
+    }
+    
+    /**
+     * Constructor Method.
+     * @param publicSeed Public Seed Bytes of LUOV Cryptosystem.
+     * @param Q2 Q2 Matrix Bytes of LUOV Cryptosystem, one per Element.
+     * @throws IllegalArgumentException if Q2 length or an element is invalid.
+     */
+    public PublicKey(byte[] publicSeed, byte[] Q2) {
+        this(LuovParameters.DEFAULT, publicSeed, Q2);
+    }
+    
+    /**
+     * Constructor Method for a Parameter Set.
+     * @param parameters Parameter Set of the Key.
+     * @param publicSeed Public Seed Bytes of LUOV Cryptosystem.
+     * @param Q2 Q2 Matrix Bytes of LUOV Cryptosystem, one per Element.
+     * @throws IllegalArgumentException if the seed length, Q2 length or an
+     * element is invalid.
+     */
+    public PublicKey(LuovParameters parameters, byte[] publicSeed, byte[] Q2) {
+        if (publicSeed.length != SEED_LENGTH) {
+            throw new IllegalArgumentException("Invalid public seed length");
+        }
+        if (Q2.length != parameters.getQ2Length()) {
+            throw new IllegalArgumentException("Invalid Q2 length");
+        }
+        Pack.checkElements(Q2);
+        this.parameters = parameters;
+        this.publicSeed = Hex.toHexString(publicSeed);
+        this.Q2 = Q2.clone();
+    }
+
+    /**
+     * Decodes a Public Key of the Default Parameter Set.
+     * @param encoded Encoded Public Key, ENCODED_LENGTH Bytes.
+     * @return Public Key.
+     * @throws IllegalArgumentException if the encoding is invalid.
+     */
+    public static PublicKey decode(byte[] encoded) {
+        return decode(LuovParameters.DEFAULT, encoded);
+    }
+    
+    /**
+     * Decodes a Public Key of a Parameter Set.
+     * @param parameters Parameter Set of the Key.
+     * @param encoded Encoded Public Key, encodedLength(parameters) Bytes.
+     * @return Public Key.
+     * @throws IllegalArgumentException if the encoding is invalid.
+     */
+    public static PublicKey decode(LuovParameters parameters, byte[] encoded) {
+        if (encoded.length != encodedLength(parameters)) {
+            throw new IllegalArgumentException("Invalid encoded public key length");
+        }
+        return decode(parameters, ByteBuffer.wrap(encoded));
+    }
+    
+    /**
+     * Decodes a Public Key of a Parameter Set from a Buffer.
+     * @param parameters Parameter Set of the Key.
+     * @param in Source Buffer, its Position is Advanced.
+     * @return Public Key.
+     * @throws IllegalArgumentException if the encoding is invalid.
+     * @throws java.nio.BufferUnderflowException if the buffer is too short.
+     */
+    public static PublicKey decode(LuovParameters parameters, ByteBuffer in) {
+        byte[] publicSeed = new byte[SEED_LENGTH];
+        in.get(publicSeed);
+        return new PublicKey(parameters, publicSeed, 
+                Pack.decodePacked(in, parameters.getQ2Length()));
+    }
+    
+    /**
+     * Get the Length of the Encoded Form of a Parameter Set.
+     * @param parameters Parameter Set of the Key.
+     * @return Public Seed and Packed Q2 Length.
+     */
+    public static int encodedLength(LuovParameters parameters) {
+        return SEED_LENGTH + Pack.packedLength(parameters.getQ2Length());
+    }
+
+    /**
+     * Get the Parameter Set of the Key.
+     * @return Parameter Set.
+     */
+    public LuovParameters getParameters() {
+        return parameters;
     }
 
     /**
@@ -40,7 +170,7 @@ public class PublicKey {
      * @return Q2 Matrix Hex String.
      */
     public String getQ2() {
-        return Q2;
+        return Pack.toHex(Q2);
     }
     
     /**
@@ -51,12 +181,77 @@ public class PublicKey {
         return Hex.decode(publicSeed);
     }
     
+    /**
+     * Get Q2 Matrix Bytes of LUOV Cryptosystem, one per Element.
+     * @return Q2 Matrix Bytes.
+     */
+    public byte[] getQ2Bytes() {
+        return Q2.clone();
+    }
+    
+    /**
+     * Get the Encoded Form of the Public Key.
+     * @return Public Seed and Packed Q2 Bytes.
+     */
+    public byte[] getEncoded() {
+        ByteBuffer out = ByteBuffer.allocate(encodedLength(parameters));
+        encode(out);
+        return out.array();
+    }
+    
+    /**
+     * Write the Encoded Form of the Public Key.
+     * @param out Destination Buffer, its Position is Advanced.
+     * @throws java.nio.BufferOverflowException if the buffer is too short.
+     */
+    public void encode(ByteBuffer out) {
+        out.put(Hex.decode(publicSeed));
+        Pack.encodePacked(Q2, out);
+    }
+    
     /**
      * Get Q2 Matrix over GF(2^7) of LUOV Cryptosystem.
-     * @return Q2 Integer Matrix over GF(2^7).
+     * @return Q2 Matrix over GF(2^7).
+     */
+    public GFMatrix getQ2Matrix() {
+        return new GFMatrix(Q2.clone(), parameters.getOilVar(), 
+                parameters.getQ2Columns());
+    }
+    
+    /**
+     * Get the Q2 Array without Copying it.
+     * @return Q2 Bytes (Shared, must not be Modified).
      */
-    public int[][] getQ2Matrix() {
-        return Pack.unpack(Q2, OIL_VAR, OIL_VAR*(OIL_VAR + 1)/2);
+    byte[] q2() {
+        return Q2;
+    }
+    
+    /**
+     * Verify if Two Public Keys are Equals.
+     * @param obj Other Object.
+     * @return Same Public Seed and Q2?
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PublicKey)) {
+            return false;
+        }
+        PublicKey other = (PublicKey) obj;
+        return parameters.equals(other.parameters) 
+                && publicSeed.equals(other.publicSeed) 
+                && Arrays.equals(Q2, other.Q2);
+    }
+    
+    /**
+     * Override of hashCode of the Object.
+     * @return Hash Code of the Public Seed.
+     */
+    @Override
+    public int hashCode() {
+        return publicSeed.hashCode();
     }
     
     /**
@@ -65,7 +260,7 @@ public class PublicKey {
      */
     @Override
     public String toString() {
-        return "[" + publicSeed + ", " + Q2 + "]";
+        return "[" + publicSeed + ", " + getQ2() + "]";
     }
     
 }
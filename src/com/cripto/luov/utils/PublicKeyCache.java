@@ -0,0 +1,347 @@
+package com.cripto.luov.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Two Tier Public Key Cache Class.
+ * <p>
+ * The cold tier keeps the compact public keys (seed and Q2) registered with
+ * put, indexed by their public seed. The hot tier keeps the expanded,
+ * verification-ready public maps of the most recently used keys, indexed by
+ * the whole public key, so a key with the same seed and another Q2 never
+ * replaces the map of a real one. Each tier is bounded by a byte budget and
+ * evicted in least recently used order; looking up a map never registers
+ * its key.
+ * </p>
+ * <p>
+ * All methods are thread safe. Expansion on a miss runs outside of the lock,
+ * so concurrent misses on different keys do not wait for each other, and
+ * concurrent misses on the same key share a single expansion.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public class PublicKeyCache {
+
+    /**
+     * Default Hot Tier Budget (64 MiB).
+     */
+    public static final long DEFAULT_MAX_HOT_BYTES = 64L << 20;
+
+    /**
+     * Default Cold Tier Budget (64 MiB).
+     */
+    public static final long DEFAULT_MAX_COLD_BYTES = 64L << 20;
+
+    private final long maxHotBytes;
+    private final long maxColdBytes;
+    private final LinkedHashMap<String, PublicKey> cold;
+    private final LinkedHashMap<PublicKey, BitslicedPublicMap> hot;
+    private final ConcurrentHashMap<PublicKey, CompletableFuture<BitslicedPublicMap>> 
+            expansions;
+    private long hotBytes;
+    private long coldBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructor Method with the Default Budgets.
+     */
+    public PublicKeyCache() {
+        this(DEFAULT_MAX_HOT_BYTES);
+    }
+
+    /**
+     * Constructor Method with the Default Cold Tier Budget.
+     * @param maxHotBytes Maximum Bytes of Expanded Maps in the Hot Tier.
+     */
+    public PublicKeyCache(long maxHotBytes) {
+        this(maxHotBytes, DEFAULT_MAX_COLD_BYTES);
+    }
+
+    /**
+     * Constructor Method.
+     * @param maxHotBytes Maximum Bytes of Expanded Maps in the Hot Tier.
+     * @param maxColdBytes Maximum Bytes of Public Keys in the Cold Tier.
+     */
+    public PublicKeyCache(long maxHotBytes, long maxColdBytes) {
+        if (maxHotBytes < 0 || maxColdBytes < 0) {
+            throw new IllegalArgumentException("Negative tier budget");
+        }
+        this.maxHotBytes = maxHotBytes;
+        this.maxColdBytes = maxColdBytes;
+        this.cold = new LinkedHashMap<>(16, 0.75f, true);
+        this.hot = new LinkedHashMap<>(16, 0.75f, true);
+        this.expansions = new ConcurrentHashMap<>();
+        LuovMetrics.register(this);
+    }
+
+    /**
+     * Register a Public Key in the Cold Tier.
+     * <p>
+     * A previous key with the same seed is replaced, and its expanded map
+     * dropped. The least recently used keys are evicted to meet the budget.
+     * </p>
+     * @param publicKey Public Key of LUOV Cryptosystem.
+     */
+    public synchronized void put(PublicKey publicKey) {
+        String seed = publicKey.getPublicSeed();
+        PublicKey previous = cold.put(seed, publicKey);
+        coldBytes += sizeOf(publicKey);
+        if (previous != null) {
+            coldBytes -= sizeOf(previous);
+            if (!previous.equals(publicKey)) {
+                removeHot(previous);
+            }
+        }
+        Iterator<PublicKey> it = cold.values().iterator();
+        while (coldBytes > maxColdBytes && it.hasNext()) {
+            coldBytes -= sizeOf(it.next());
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Get a Public Key from the Cold Tier.
+     * @param publicSeed Public Seed Hex String.
+     * @return Public Key, or null if it is unknown.
+     */
+    public synchronized PublicKey getPublicKey(String publicSeed) {
+        return cold.get(publicSeed);
+    }
+
+    /**
+     * Get the Expanded Public Map of a Registered Public Key.
+     * @param publicSeed Public Seed Hex String.
+     * @return Expanded Public Map, or null if the key is unknown.
+     */
+    public BitslicedPublicMap getPublicMap(String publicSeed) {
+        PublicKey publicKey = getPublicKey(publicSeed);
+        return publicKey == null ? null : getPublicMap(publicKey);
+    }
+
+    /**
+     * Get the Expanded Public Map of a Public Key.
+     * <p>
+     * The key is not registered in the cold tier. On a miss the map is
+     * expanded once, other threads missing on the same key wait for it.
+     * </p>
+     * @param publicKey Public Key of LUOV Cryptosystem.
+     * @return Expanded Public Map.
+     */
+    public BitslicedPublicMap getPublicMap(PublicKey publicKey) {
+        BitslicedPublicMap publicMap = getHot(publicKey);
+        if (publicMap != null) {
+            hits.increment();
+            return publicMap;
+        }
+        misses.increment();
+        CompletableFuture<BitslicedPublicMap> expansion = new CompletableFuture<>();
+        CompletableFuture<BitslicedPublicMap> pending = 
+                expansions.putIfAbsent(publicKey, expansion);
+        if (pending != null) {
+            return join(pending);
+        }
+        try {
+            publicMap = getHot(publicKey);
+            if (publicMap == null) {
+                publicMap = BitslicedPublicMap.expand(publicKey);
+                putHot(publicKey, publicMap);
+            }
+            expansion.complete(publicMap);
+            return publicMap;
+        } catch (RuntimeException | Error e) {
+            expansion.completeExceptionally(e);
+            throw e;
+        } finally {
+            expansions.remove(publicKey, expansion);
+        }
+    }
+
+    /**
+     * Wait for the Expansion of another Thread.
+     * @param expansion Pending Expansion.
+     * @return Expanded Public Map.
+     */
+    private static BitslicedPublicMap join(CompletableFuture<BitslicedPublicMap> expansion) {
+        try {
+            return expansion.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Remove a Public Key from Both Tiers.
+     * @param publicSeed Public Seed Hex String.
+     */
+    public synchronized void remove(String publicSeed) {
+        PublicKey publicKey = cold.remove(publicSeed);
+        if (publicKey != null) {
+            coldBytes -= sizeOf(publicKey);
+        }
+        Iterator<Map.Entry<PublicKey, BitslicedPublicMap>> it = hot.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<PublicKey, BitslicedPublicMap> entry = it.next();
+            if (entry.getKey().getPublicSeed().equals(publicSeed)) {
+                hotBytes -= entry.getValue().getSizeInBytes();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Get a Map of the Hot Tier.
+     * @param publicKey Public Key of LUOV Cryptosystem.
+     * @return Expanded Public Map, or null if it is not in the Hot Tier.
+     */
+    private synchronized BitslicedPublicMap getHot(PublicKey publicKey) {
+        return hot.get(publicKey);
+    }
+
+    /**
+     * Add a Map to the Hot Tier, Evicting Least Recently Used Maps until the
+     * Budget is Met. A Map Larger than the Budget is not Kept.
+     * @param publicKey Public Key of LUOV Cryptosystem.
+     * @param publicMap Expanded Public Map of the Key.
+     */
+    private synchronized void putHot(PublicKey publicKey, BitslicedPublicMap publicMap) {
+        long size = publicMap.getSizeInBytes();
+        if (size > maxHotBytes) {
+            return;
+        }
+        removeHot(publicKey);
+        hot.put(publicKey, publicMap);
+        hotBytes += size;
+        Iterator<BitslicedPublicMap> it = hot.values().iterator();
+        while (hotBytes > maxHotBytes && it.hasNext()) {
+            hotBytes -= it.next().getSizeInBytes();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Remove a Key from the Hot Tier, Holding the Lock.
+     * @param publicKey Public Key of LUOV Cryptosystem.
+     */
+    private void removeHot(PublicKey publicKey) {
+        BitslicedPublicMap publicMap = hot.remove(publicKey);
+        if (publicMap != null) {
+            hotBytes -= publicMap.getSizeInBytes();
+        }
+    }
+
+    /**
+     * Get the Approximate Memory used by a Compact Public Key.
+     * @param publicKey Public Key of LUOV Cryptosystem.
+     * @return Size in Bytes of its Seed and Q2.
+     */
+    private static long sizeOf(PublicKey publicKey) {
+        return PublicKey.SEED_LENGTH + publicKey.getParameters().getQ2Length();
+    }
+
+    /**
+     * Get the Number of Lookups Served by the Hot Tier.
+     * @return Hit Count.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the Number of Lookups that Needed an Expansion.
+     * @return Miss Count.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the Number of Maps and Keys Evicted from the Tiers.
+     * @return Eviction Count.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Get the Number of Expanded Maps in the Hot Tier.
+     * @return Hot Tier Size.
+     */
+    public synchronized int getHotSize() {
+        return hot.size();
+    }
+
+    /**
+     * Get the Bytes used by the Expanded Maps in the Hot Tier.
+     * @return Hot Tier Bytes.
+     */
+    public synchronized long getHotBytes() {
+        return hotBytes;
+    }
+
+    /**
+     * Get the Hot Tier Budget.
+     * @return Maximum Hot Tier Bytes.
+     */
+    public long getMaxHotBytes() {
+        return maxHotBytes;
+    }
+
+    /**
+     * Get the Number of Public Keys in the Cold Tier.
+     * @return Cold Tier Size.
+     */
+    public synchronized int getColdSize() {
+        return cold.size();
+    }
+
+    /**
+     * Get the Bytes used by the Public Keys in the Cold Tier.
+     * @return Cold Tier Bytes.
+     */
+    public synchronized long getColdBytes() {
+        return coldBytes;
+    }
+
+    /**
+     * Get the Cold Tier Budget.
+     * @return Maximum Cold Tier Bytes.
+     */
+    public long getMaxColdBytes() {
+        return maxColdBytes;
+    }
+
+    /**
+     * Override of toString of the Object.
+     * @return To String of the Object.
+     */
+    @Override
+    public String toString() {
+        return "[hits=" + getHitCount() + ", misses=" + getMissCount()
+                + ", evictions=" + getEvictionCount() + ", hot=" + getHotSize()
+                + " (" + getHotBytes() + "/" + maxHotBytes + " bytes), cold="
+                + getColdSize() + " (" + getColdBytes() + "/" + maxColdBytes 
+                + " bytes)]";
+    }
+
+}
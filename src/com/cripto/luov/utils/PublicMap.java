@@ -0,0 +1,35 @@
+package com.cripto.luov.utils;
+
+import com.cripto.utils.models.GFMatrix;
+
+/**
+ * Public Map Interface.
+ * <p>
+ * Evaluation of the public map P of a public key, as used by the verifier.
+ * Implementations are thread safe.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public interface PublicMap {
+
+    /**
+     * Get the Parameter Set of the Public Map.
+     * @return Parameter Set.
+     */
+    LuovParameters getParameters();
+
+    /**
+     * Calculates the Evaluation of s in the Public Map P.
+     * <p>
+     * P(s) = C + L(s) + Q(s), with Q = (Q1||Q2).
+     * </p>
+     * @param s s Signature Elements over GF(2^7) (N Bytes).
+     * @return Evaluation of s in the Public Map P (OIL_VAR x 1).
+     * @throws IllegalArgumentException if s is not a vector over GF(2^7).
+     */
+    GFMatrix evaluate(byte[] s);
+
+}
@@ -1,12 +1,16 @@
-
 package com.cripto.luov.utils;
 
 import static com.cripto.luov.LUOV.OIL_VAR;
 import static com.cripto.luov.LUOV.VINEGAR_VAR;
 import com.cripto.utils.functions.Pack;
+import com.cripto.utils.models.GFMatrix;
 
 /**
  * Public Map Constant, Linear and First Quadratic Part Class.
+ * <p>
+ * The parts are kept in binary form, one byte per GF(2^7) element in 
+ * row-major order; the hex forms are generated on demand.
+ * </p>
  * @author Eduardo Angulo
  * @author Sebastián Cabarcas
  * @author Andrés Duarte
@@ -14,9 +18,31 @@ import com.cripto.utils.functions.Pack;
  */
 public class PublicMapParts {
     
-    private String C;
-    private String L;
-    private String Q1;
+    /**
+     * Number of Elements of C of the Default Parameter Set.
+     */
+    public static final int C_LENGTH = OIL_VAR;
+    
+    /**
+     * Number of Elements of L of the Default Parameter Set.
+     */
+    public static final int L_LENGTH = OIL_VAR*(OIL_VAR + VINEGAR_VAR);
+    
+    /**
+     * Number of Columns of Q1 of the Default Parameter Set.
+     */
+    public static final int Q1_COLUMNS = 
+            (VINEGAR_VAR*(VINEGAR_VAR + 1)/2) + (VINEGAR_VAR * OIL_VAR);
+    
+    /**
+     * Number of Elements of Q1 of the Default Parameter Set.
+     */
+    public static final int Q1_LENGTH = OIL_VAR*Q1_COLUMNS;
+    
+    private final LuovParameters parameters;
+    private final byte[] C;
+    private final byte[] L;
+    private final byte[] Q1;
 
     /**
      * Constructor Method.
@@ -25,6 +51,44 @@ public class PublicMapParts {
      * @param Q1 First Part of Quadratic Part Matrix Hex String of Public Map of LUOV Cryptosystem.
      */
     public PublicMapParts(String C, String L, String Q1) {
+        this(Pack.fromHex(C, C_LENGTH), Pack.fromHex(L, L_LENGTH), 
+                Pack.fromHex(Q1, Q1_LENGTH));
+    }
+    
+    /**
+     * Constructor Method.
+     * <p>
+     * The arrays are not copied and must not be modified afterwards.
+     * </p>
+     * @param C Constant Part Matrix Bytes of Public Map of LUOV Cryptosystem.
+     * @param L Linear Part Matrix Bytes of Public Map of LUOV Cryptosystem.
+     * @param Q1 First Part of Quadratic Part Matrix Bytes of Public Map of LUOV Cryptosystem.
+     * @throws IllegalArgumentException if a length or an element is invalid.
+     */
+    public PublicMapParts(byte[] C, byte[] L, byte[] Q1) {
+        this(LuovParameters.DEFAULT, C, L, Q1);
+    }
+    
+    /**
+     * Constructor Method for a Parameter Set.
+     * <p>
+     * The arrays are not copied and must not be modified afterwards.
+     * </p>
+     * @param parameters Parameter Set of the Public Map.
+     * @param C Constant Part Matrix Bytes of Public Map of LUOV Cryptosystem.
+     * @param L Linear Part Matrix Bytes of Public Map of LUOV Cryptosystem.
+     * @param Q1 First Part of Quadratic Part Matrix Bytes of Public Map of LUOV Cryptosystem.
+     * @throws IllegalArgumentException if a length or an element is invalid.
+     */
+    public PublicMapParts(LuovParameters parameters, byte[] C, byte[] L, byte[] Q1) {
+        if (C.length != parameters.getCLength() || L.length != parameters.getLLength() 
+                || Q1.length != parameters.getQ1Length()) {
+            throw new IllegalArgumentException("Invalid public map length");
+        }
+        Pack.checkElements(C);
+        Pack.checkElements(L);
+        Pack.checkElements(Q1);
+        this.parameters = parameters;
         this.C = C;
         this.L = L;
         this.Q1 = Q1;
@@ -35,7 +99,7 @@ public class PublicMapParts {
      * @return C Hex String.
      */
     public String getC() {
-        return C;
+        return Pack.toHex(C);
     }
 
     /**
@@ -43,7 +107,7 @@ public class PublicMapParts {
      * @return L Hex String.
      */
     public String getL() {
-        return L;
+        return Pack.toHex(L);
     }
 
     /**
@@ -51,32 +115,113 @@ public class PublicMapParts {
      * @return Q1 Hex String.
      */
     public String getQ1() {
-        return Q1;
+        return Pack.toHex(Q1);
+    }
+    
+    /**
+     * Get the Parameter Set of the Public Map.
+     * @return Parameter Set.
+     */
+    public LuovParameters getParameters() {
+        return parameters;
+    }
+    
+    /**
+     * Get C Constant Part Bytes, one per Element.
+     * @return C Bytes.
+     */
+    public byte[] getCBytes() {
+        return C.clone();
+    }
+
+    /**
+     * Get L Linear Part Bytes, one per Element.
+     * @return L Bytes.
+     */
+    public byte[] getLBytes() {
+        return L.clone();
+    }
+
+    /**
+     * Get Q1 First Quadratic Part Bytes, one per Element.
+     * @return Q1 Bytes.
+     */
+    public byte[] getQ1Bytes() {
+        return Q1.clone();
+    }
+    
+    /**
+     * Get the part of Pk that is quadratic in vinegar variables.
+     * @param k Equation Index.
+     * @param Pk1 Matrix (VINEGAR_VAR x VINEGAR_VAR) where Pk1 is Stored, 
+     * only its Upper Triangle is Written.
+     * @return Pk part Pk1.
+     */
+    public GFMatrix getPk1(int k, GFMatrix Pk1) {
+        int oil = parameters.getOilVar();
+        int vinegar = parameters.getVinegarVar();
+        int column = k*parameters.getQ1Columns();
+        for (int i = 0; i < vinegar; i++) {
+            for (int j = i; j < vinegar; j++) {
+                Pk1.set(i, j, Q1[column]);
+                column++;
+            }
+            column += oil;
+        }
+        return Pk1;
+    }
+    
+    /**
+     * Get the part of Pk that is bilinear in vinegar and oil variables.
+     * @param k Equation Index.
+     * @param Pk2 Matrix (VINEGAR_VAR x OIL_VAR) where Pk2 is Stored.
+     * @return Pk part Pk2.
+     */
+    public GFMatrix getPk2(int k, GFMatrix Pk2) {
+        int oil = parameters.getOilVar();
+        int vinegar = parameters.getVinegarVar();
+        int column = k*parameters.getQ1Columns();
+        for (int i = 0; i < vinegar; i++) {
+            column += vinegar - i;
+            for (int j = 0; j < oil; j++) {
+                Pk2.set(i, j, Q1[column]);
+                column++;
+            }
+        }
+        return Pk2;
     }
     
     /**
      * Get C Constant Part Matrix over GF(2^7).
-     * @return C Integer Matrix over GF(2^7).
+     * @return C Matrix over GF(2^7).
      */
-    public int[][] getCMatrix() {
-        return Pack.unpack(C, OIL_VAR, 1);
+    public GFMatrix getCMatrix() {
+        return new GFMatrix(C.clone(), parameters.getOilVar(), 1);
     }
     
     /**
      * Get L Linear Part Matrix over GF(2^7).
-     * @return L Integer Matrix over GF(2^7).
+     * @return L Matrix over GF(2^7).
      */
-    public int[][] getLMatrix() {
-        return Pack.unpack(L, OIL_VAR, OIL_VAR + VINEGAR_VAR);
+    public GFMatrix getLMatrix() {
+        return new GFMatrix(L.clone(), parameters.getOilVar(), parameters.getN());
     }
     
     /**
      * Get Q1 First Quadratic Part Matrix over GF(2^7).
-     * @return Q1 Integer Matrix over GF(2^7).
+     * @return Q1 Matrix over GF(2^7).
+     */
+    public GFMatrix getQ1Matrix() {
+        return new GFMatrix(Q1.clone(), parameters.getOilVar(), 
+                parameters.getQ1Columns());
+    }
+    
+    /**
+     * Get the Q1 Array without Copying it.
+     * @return Q1 Bytes (Shared, must not be Modified).
      */
-    public int[][] getQ1Matrix() {
-        return Pack.unpack(Q1, OIL_VAR, 
-                (VINEGAR_VAR*(VINEGAR_VAR + 1)/2) + (VINEGAR_VAR * OIL_VAR));
+    byte[] q1() {
+        return Q1;
     }
     
 }
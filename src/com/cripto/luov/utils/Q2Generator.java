@@ -0,0 +1,172 @@
+package com.cripto.luov.utils;
+
+import static com.cripto.luov.LUOV.FIELD;
+import com.cripto.utils.models.GFMatrix;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Structure Aware Q2 Generator Class.
+ * <p>
+ * For every equation k, Q2 is read from Pk3 = T^T*(Pk1*T + Pk2). The rows of
+ * the products are kept bitsliced: FIELD longs per row, where bit c of long
+ * p is the bit p of the element in column c. T only holds 0 and 1, so
+ * </p>
+ * <ul>
+ * <li>row i of Pk1*T is the sum of the rows j of T, as OIL_VAR bit masks,
+ * XORed into plane p for every bit p set in Pk1[i][j];</li>
+ * <li>row a of T^T*Y is the sum of the rows i of Y with T[i][a] = 1.</li>
+ * </ul>
+ * <p>
+ * No field multiplication is needed at all. Pk1 is upper triangular, so only
+ * the elements j &gt;= i of each row are read, straight from Q1, and zero
+ * elements cost nothing. The result is the same as the general product over
+ * GF(2^7).
+ * </p>
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public class Q2Generator {
+
+    private final LuovParameters parameters;
+    private final int oil;
+    private final int vinegar;
+    private final long[] tRows;
+
+    /**
+     * Constructor Method.
+     * @param linearTrans Linear Transformation of the Private Key.
+     */
+    public Q2Generator(LinearTransformation linearTrans) {
+        GFMatrix T = linearTrans.getTMatrix();
+        this.parameters = linearTrans.getParameters();
+        this.oil = parameters.getOilVar();
+        this.vinegar = parameters.getVinegarVar();
+        this.tRows = new long[vinegar];
+        for (int i = 0; i < vinegar; i++) {
+            for (int c = 0; c < oil; c++) {
+                if (T.get(i, c) != 0) {
+                    tRows[i] |= 1L << c;
+                }
+            }
+        }
+    }
+
+    /**
+     * Calculates the second part of the quadratic part of the Public Map.
+     * @param parts Public Map Parts (C, L, Q1).
+     * @return Q2 Bytes (OIL_VAR x Q2_COLUMNS), one per Element.
+     */
+    public byte[] generate(PublicMapParts parts) {
+        byte[] Q2 = new byte[parameters.getQ2Length()];
+        long[] scratch = new long[scratchLength()];
+        for (int k = 0; k < oil; k++) {
+            generateRow(parts.q1(), k, Q2, scratch);
+        }
+        return Q2;
+    }
+
+    /**
+     * Calculates Q2 Spreading the Equations over an Executor.
+     * <p>
+     * Every equation only writes its own row of Q2, so the rows are split in
+     * chunks, each with its own workspace. The result is the same as
+     * {@link #generate(PublicMapParts)}.
+     * </p>
+     * @param parts Public Map Parts (C, L, Q1).
+     * @param executor Executor that runs the Chunks.
+     * @return Q2 Bytes (OIL_VAR x Q2_COLUMNS), one per Element.
+     * @throws java.lang.Exception if a chunk fails.
+     */
+    public byte[] generate(PublicMapParts parts, ExecutorService executor) throws Exception {
+        byte[] Q2 = new byte[parameters.getQ2Length()];
+        RangeTasks.run(executor, oil, (from, to) -> {
+            long[] scratch = new long[scratchLength()];
+            for (int k = from; k < to; k++) {
+                generateRow(parts.q1(), k, Q2, scratch);
+            }
+        });
+        return Q2;
+    }
+
+    /**
+     * Get the Length of the Workspace of generateRow.
+     * @return (VINEGAR_VAR + OIL_VAR)*FIELD.
+     */
+    int scratchLength() {
+        return parameters.getN()*FIELD;
+    }
+
+    /**
+     * Calculates the Row of Q2 of an Equation.
+     * @param Q1 Q1 Bytes of the Public Map.
+     * @param k Equation Index.
+     * @param Q2 Q2 Bytes where the Row is Stored.
+     * @param scratch Workspace (scratchLength()).
+     */
+    void generateRow(byte[] Q1, int k, byte[] Q2, long[] scratch) {
+        int oil = this.oil;
+        int vinegar = this.vinegar;
+        int pk3 = vinegar*FIELD;
+        Arrays.fill(scratch, 0);
+        int column = k*parameters.getQ1Columns();
+        for (int i = 0; i < vinegar; i++) {
+            int y = i*FIELD;
+            for (int j = i; j < vinegar; j++) {
+                int value = Q1[column++];
+                while (value != 0) {
+                    int p = Integer.numberOfTrailingZeros(value);
+                    value &= value - 1;
+                    scratch[y + p] ^= tRows[j];
+                }
+            }
+            for (int c = 0; c < oil; c++) {
+                int value = Q1[column++];
+                while (value != 0) {
+                    int p = Integer.numberOfTrailingZeros(value);
+                    value &= value - 1;
+                    scratch[y + p] ^= 1L << c;
+                }
+            }
+            long rows = tRows[i];
+            while (rows != 0) {
+                int a = pk3 + Long.numberOfTrailingZeros(rows)*FIELD;
+                rows &= rows - 1;
+                for (int p = 0; p < FIELD; p++) {
+                    scratch[a + p] ^= scratch[y + p];
+                }
+            }
+        }
+        int q = k*parameters.getQ2Columns();
+        for (int i = 0; i < oil; i++) {
+            Q2[q++] = (byte) element(scratch, pk3, i, i);
+            for (int j = i + 1; j < oil; j++) {
+                Q2[q++] = (byte) (element(scratch, pk3, i, j)
+                        ^ element(scratch, pk3, j, i));
+            }
+        }
+    }
+
+    /**
+     * Get an Element of a Bitsliced Matrix.
+     * @param planes Bitsliced Rows.
+     * @param offset Offset of the First Row.
+     * @param i Row Index.
+     * @param j Column Index.
+     * @return Element (i, j).
+     */
+    private static int element(long[] planes, int offset, int i, int j) {
+        int value = 0;
+        int row = offset + i*FIELD;
+        for (int p = 0; p < FIELD; p++) {
+            value |= (int) ((planes[row + p] >>> j) & 1) << p;
+        }
+        return value;
+    }
+
+}
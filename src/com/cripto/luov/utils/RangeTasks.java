@@ -0,0 +1,82 @@
+package com.cripto.luov.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Range Tasks Class.
+ * <p>
+ * Splits an index range in chunks run by an executor, and waits for all of
+ * them. If a chunk fails the remaining ones are cancelled and its exception
+ * is thrown; they are also cancelled if the waiting thread is interrupted or
+ * the executor rejects a chunk. Used by the key expansions and by the batch
+ * signing and verification.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public final class RangeTasks {
+
+    /**
+     * Work over a Range of Indexes.
+     */
+    public interface Range {
+
+        /**
+         * Process the Indexes from (inclusive) to (exclusive).
+         * @param from First Index.
+         * @param to Last Index plus One.
+         * @throws java.lang.Exception
+         */
+        void run(int from, int to) throws Exception;
+
+    }
+
+    /**
+     * Constructor Method.
+     */
+    private RangeTasks() {
+    }
+
+    /**
+     * Run a Range of Indexes in Parallel.
+     * @param executor Executor that runs the Chunks.
+     * @param length Number of Indexes.
+     * @param range Work of a Chunk.
+     * @throws java.lang.Exception if a chunk fails.
+     */
+    public static void run(ExecutorService executor, int length, Range range) throws Exception {
+        int chunks = 4*Runtime.getRuntime().availableProcessors();
+        int chunk = Math.max(1, (length + chunks - 1)/chunks);
+        List<Future<?>> tasks = new ArrayList<>();
+        boolean completed = false;
+        try {
+            for (int from = 0; from < length; from += chunk) {
+                int start = from;
+                int end = Math.min(length, from + chunk);
+                tasks.add(executor.submit(() -> {
+                    range.run(start, end);
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+            completed = true;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        } finally {
+            if (!completed) {
+                for (Future<?> task : tasks) {
+                    task.cancel(true);
+                }
+            }
+        }
+    }
+
+}
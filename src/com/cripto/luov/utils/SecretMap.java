@@ -3,7 +3,7 @@ package com.cripto.luov.utils;
 
 import com.cripto.luov.LUOV;
 import com.cripto.luov.utils.SecretPolynomial;
-import com.cripto.utils.functions.Functions;
+import com.cripto.utils.models.GFMatrix;
 import java.util.ArrayList;
 
 /**
@@ -55,16 +55,15 @@ public class SecretMap {
      * @param o Oil Vars Assign.
      * @return Evaluation of Quadratic Part of Secret Map.
      */
-    public int[][] evalSecretMap(int[][] v, int[][] o) {
-        int[][] eval = new int[LUOV.OIL_VAR][1];
-        int[][] vars = Functions.matrixRowUnion(v, o);
-        int[][] vars_tran = Functions.transposeMatrix(vars);
+    public GFMatrix evalSecretMap(GFMatrix v, GFMatrix o) {
+        GFMatrix eval = new GFMatrix(LUOV.OIL_VAR, 1);
+        GFMatrix vars = GFMatrix.rowUnion(v, o);
+        GFMatrix vars_tran = vars.transpose();
+        GFMatrix left = new GFMatrix(1, vars.getRows());
         for (int i = 0; i < LUOV.OIL_VAR; i++) {
-            int[][] left = Functions.matrixMult(LUOV.FIELD, LUOV.POLY, 
-                    vars_tran, secretPolys.get(i).getQuadraticPart());
-            int[][] result = Functions.matrixMult(LUOV.FIELD, LUOV.POLY, 
-                    left, vars);
-            eval[i][0] = result[0][0];
+            GFMatrix.multiply(vars_tran, 
+                    secretPolys.get(i).getQuadraticPart(), left);
+            GFMatrix.multiply(left, vars, eval.row(i));
         }
         return eval;
     }
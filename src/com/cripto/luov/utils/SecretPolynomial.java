@@ -1,6 +1,7 @@
 
 package com.cripto.luov.utils;
 
+import com.cripto.utils.models.GFMatrix;
 import com.cripto.utils.models.Polynomial;
 
 /**
@@ -16,7 +17,7 @@ public class SecretPolynomial extends Polynomial {
      * Constructor Method.
      * @param quadraticPart Matrix Corresponding to a Polynomial Quadratic Part.
      */
-    public SecretPolynomial(int[][] quadraticPart) {
+    public SecretPolynomial(GFMatrix quadraticPart) {
         this.quadraticPart = quadraticPart;
     }
     
@@ -24,7 +25,7 @@ public class SecretPolynomial extends Polynomial {
      * Get the Matrix Corresponding to a Polynomial Quadratic Part.
      * @return Quadratic Part of Desired Polynomial.
      */
-    public int[][] getQuadraticPart() {
+    public GFMatrix getQuadraticPart() {
         return quadraticPart;
     }
     
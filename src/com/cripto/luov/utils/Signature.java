@@ -1,13 +1,23 @@
-
 package com.cripto.luov.utils;
 
 import static com.cripto.luov.LUOV.OIL_VAR;
 import static com.cripto.luov.LUOV.VINEGAR_VAR;
 import com.cripto.utils.functions.Pack;
+import com.cripto.utils.models.GFMatrix;
+import java.nio.ByteBuffer;
 import org.bouncycastle.util.encoders.Hex;
 
 /**
  * Signature Object Class.
+ * <p>
+ * s is kept in binary form, one byte per GF(2^7) element; the hex form is 
+ * generated on demand.
+ * </p>
+ * <p>
+ * The encoded form is s packed 7 bits per element, least significant bit
+ * first, followed by the raw salt: 223 + 16 bytes for LUOV-7-57-197. It
+ * does not name the parameter set, the decoder is given it.
+ * </p>
  * @author Eduardo Angulo
  * @author Sebastián Cabarcas
  * @author Andrés Duarte
@@ -15,8 +25,24 @@ import org.bouncycastle.util.encoders.Hex;
  */
 public class Signature {
     
-    private String s;
-    private String salt;
+    /**
+     * Number of Elements of s of the Default Parameter Set.
+     */
+    public static final int S_LENGTH = OIL_VAR + VINEGAR_VAR;
+    
+    /**
+     * Number of Bytes of the Salt.
+     */
+    public static final int SALT_LENGTH = 16;
+    
+    /**
+     * Number of Bytes of the Encoded Form of the Default Parameter Set.
+     */
+    public static final int ENCODED_LENGTH = encodedLength(LuovParameters.DEFAULT);
+    
+    private final LuovParameters parameters;
+    private final byte[] s;
+    private final byte[] salt;
     
     /**
      * Constructor Method.
@@ -24,8 +50,104 @@ public class Signature {
      * @param salt Salt Bytes Hex String.    
      */
     public Signature(String s, String salt) {
-        this.s = s;
-        this.salt = salt;
+        this(LuovParameters.DEFAULT, s, salt);
+    }
+    
+    /**
+     * Constructor Method for a Parameter Set.
+     * @param parameters Parameter Set of the Signing Key.
+     * @param s S solution Hex String.
+     * @param salt Salt Bytes Hex String.    
+     */
+    public Signature(LuovParameters parameters, String s, String salt) {
+        this(parameters, Pack.fromHex(s, parameters.getN()), Hex.decode(salt));
+    }
+    
+    /**
+     * Constructor Method.
+     * @param s S solution Bytes, one per Element.
+     * @param salt Salt Bytes.
+     * @throws IllegalArgumentException if s length or an element is invalid.
+     */
+    public Signature(byte[] s, byte[] salt) {
+        this(LuovParameters.DEFAULT, s, salt);
+    }
+    
+    /**
+     * Constructor Method for a Parameter Set.
+     * @param parameters Parameter Set of the Signing Key.
+     * @param s S solution Bytes, one per Element.
+     * @param salt Salt Bytes.
+     * @throws IllegalArgumentException if s length, an element or the salt
+     * length is invalid.
+     */
+    public Signature(LuovParameters parameters, byte[] s, byte[] salt) {
+        if (s.length != parameters.getN()) {
+            throw new IllegalArgumentException("Invalid signature length");
+        }
+        if (salt.length != SALT_LENGTH) {
+            throw new IllegalArgumentException("Invalid salt length");
+        }
+        Pack.checkElements(s);
+        this.parameters = parameters;
+        this.s = s.clone();
+        this.salt = salt.clone();
+    }
+
+    /**
+     * Decodes a Signature of the Default Parameter Set.
+     * @param encoded Encoded Signature, ENCODED_LENGTH Bytes.
+     * @return Signature.
+     * @throws IllegalArgumentException if the encoding is invalid.
+     */
+    public static Signature decode(byte[] encoded) {
+        return decode(LuovParameters.DEFAULT, encoded);
+    }
+    
+    /**
+     * Decodes a Signature of a Parameter Set.
+     * @param parameters Parameter Set of the Signing Key.
+     * @param encoded Encoded Signature, encodedLength(parameters) Bytes.
+     * @return Signature.
+     * @throws IllegalArgumentException if the encoding is invalid.
+     */
+    public static Signature decode(LuovParameters parameters, byte[] encoded) {
+        if (encoded.length != encodedLength(parameters)) {
+            throw new IllegalArgumentException("Invalid encoded signature length");
+        }
+        return decode(parameters, ByteBuffer.wrap(encoded));
+    }
+    
+    /**
+     * Decodes a Signature of a Parameter Set from a Buffer.
+     * @param parameters Parameter Set of the Signing Key.
+     * @param in Source Buffer, its Position is Advanced.
+     * @return Signature.
+     * @throws IllegalArgumentException if the encoding is invalid.
+     * @throws java.nio.BufferUnderflowException if the buffer is too short.
+     */
+    public static Signature decode(LuovParameters parameters, ByteBuffer in) {
+        byte[] s = Pack.decodePacked(in, parameters.getN());
+        byte[] salt = new byte[SALT_LENGTH];
+        in.get(salt);
+        return new Signature(parameters, s, salt);
+    }
+    
+    /**
+     * Get the Length of the Encoded Form of a Parameter Set.
+     * @param parameters Parameter Set of the Signing Key.
+     * @return Packed s and Salt Length.
+     */
+    public static int encodedLength(LuovParameters parameters) {
+        return Pack.packedLength(parameters.getN()) + SALT_LENGTH;
+    }
+    
+    /**
+     * Get the Parameter Set of the Signing Key.
+     * @return Parameter Set.
+     */
+    public LuovParameters getParameters() {
+        return parameters;
     }
 
     /**
@@ -33,7 +155,7 @@ public class Signature {
      * @return S Hex String.
      */
     public String getS() {
-        return s;
+        return Pack.toHex(s);
     }
 
     /**
@@ -41,15 +163,43 @@ public class Signature {
      * @return Salt Bytes Hex String.
      */
     public String getSalt() {
-        return salt;
+        return Hex.toHexString(salt);
+    }
+    
+    /**
+     * Get S solution Bytes, one per Element.
+     * @return S Bytes.
+     */
+    public byte[] getSBytes() {
+        return s.clone();
+    }
+    
+    /**
+     * Get the Encoded Form of the Signature.
+     * @return Packed s and Salt Bytes.
+     */
+    public byte[] getEncoded() {
+        ByteBuffer out = ByteBuffer.allocate(encodedLength(parameters));
+        encode(out);
+        return out.array();
+    }
+    
+    /**
+     * Write the Encoded Form of the Signature.
+     * @param out Destination Buffer, its Position is Advanced.
+     * @throws java.nio.BufferOverflowException if the buffer is too short.
+     */
+    public void encode(ByteBuffer out) {
+        Pack.encodePacked(s, out);
+        out.put(salt);
     }
     
     /**
      * Get S solution Matrix over GF(2^7).
-     * @return S Integer Matrix over GF(2^7).
+     * @return S Matrix over GF(2^7).
      */
-    public int[][] getSMatrix() {
-        return Pack.unpack(s, OIL_VAR + VINEGAR_VAR, 1);
+    public GFMatrix getSMatrix() {
+        return new GFMatrix(s.clone(), s.length, 1);
     }
     
     /**
@@ -57,7 +207,7 @@ public class Signature {
      * @return Salt Bytes Vector.
      */
     public byte[] getSaltBytes() {
-        return Hex.decode(salt);
+        return salt.clone();
     }
     
     /**
@@ -66,7 +216,7 @@ public class Signature {
      */
     @Override
     public String toString() {
-        return "[" + s + ", " + salt + "]";
+        return "[" + getS() + ", " + getSalt() + "]";
     }
     
 }
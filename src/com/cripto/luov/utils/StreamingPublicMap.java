@@ -0,0 +1,136 @@
+package com.cripto.luov.utils;
+
+import static com.cripto.luov.LUOV.FIELD;
+import com.cripto.utils.functions.GaloisField;
+import com.cripto.utils.functions.Pack;
+import com.cripto.utils.models.GFMatrix;
+
+/**
+ * Streaming Public Map Class.
+ * <p>
+ * Low memory form of the public map: it only keeps the public key. Every
+ * evaluation regenerates C, L and Q1 from the ChaCha keystream of the public
+ * seed, one 512 bytes block at a time, and folds each block into the
+ * OIL_VAR equation accumulators as it is generated. Q1 is never
+ * materialized.
+ * </p>
+ * <p>
+ * The products s_i*s_j of all the monomials are computed once, in the
+ * order of the columns of Q = (Q1||Q2). The keystream gives Q1 row by row,
+ * so each block adds the products weighted by its elements to the
+ * accumulator of the current equation. The working set is the products
+ * (N*(N + 1)/2 bytes), two blocks and the accumulators, whatever the
+ * number of keys.
+ * </p>
+ * <p>
+ * An evaluation costs a full expansion of the keystream, so this form
+ * trades time for memory against {@link BitslicedPublicMap}. Instances are
+ * immutable and can be shared between threads.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public final class StreamingPublicMap implements PublicMap {
+
+    private final PublicKey publicKey;
+
+    /**
+     * Constructor Method.
+     * @param publicKey Public Key of LUOV Cryptosystem.
+     */
+    public StreamingPublicMap(PublicKey publicKey) {
+        this.publicKey = publicKey;
+    }
+
+    /**
+     * Get the Public Key of the Public Map.
+     * @return Public Key of LUOV Cryptosystem.
+     */
+    public PublicKey getPublicKey() {
+        return publicKey;
+    }
+
+    /**
+     * Get the Parameter Set of the Public Map.
+     * @return Parameter Set.
+     */
+    @Override
+    public LuovParameters getParameters() {
+        return publicKey.getParameters();
+    }
+
+    /**
+     * Calculates the Evaluation of s in the Public Map P.
+     * <p>
+     * P(s) = C + L(s) + Q(s), with Q = (Q1||Q2).
+     * </p>
+     * @param s s Signature Elements over GF(2^7) (N Bytes).
+     * @return Evaluation of s in the Public Map P (OIL_VAR x 1).
+     * @throws IllegalArgumentException if s is not a vector over GF(2^7).
+     */
+    @Override
+    public GFMatrix evaluate(byte[] s) {
+        LuovParameters parameters = publicKey.getParameters();
+        int n = parameters.getN();
+        int oil = parameters.getOilVar();
+        int columns1 = parameters.getQ1Columns();
+        int columns2 = parameters.getQ2Columns();
+        if (s.length != n) {
+            throw new IllegalArgumentException("Signature must have " + n
+                    + " elements");
+        }
+        Pack.checkElements(s);
+        byte[] mul = GaloisField.GF128.multTable();
+        byte[] products = new byte[columns1 + columns2];
+        int column = 0;
+        for (int i = 0; i < n; i++) {
+            int base = s[i] << FIELD;
+            for (int j = i; j < n; j++) {
+                products[column++] = mul[base | s[j]];
+            }
+        }
+        byte[] accumulators = new byte[oil];
+        PRNG.PublicMapStream stream = new PRNG.PublicMapStream(
+                publicKey.getPublicSeedBytes());
+        int k = 0;
+        column = 0;
+        for (int b = 0; b < oil || k < oil; b++) {
+            byte[] block = stream.next();
+            int from = 0;
+            if (b < oil) {
+                int value = block[0] & 0x7F;
+                for (int j = 0; j < n; j++) {
+                    value ^= mul[(block[1 + j] & 0x7F) << FIELD | s[j]];
+                }
+                accumulators[b] ^= value;
+                from = n + 1;
+            }
+            while (from < block.length && k < oil) {
+                int end = Math.min(block.length, from + columns1 - column);
+                int value = 0;
+                for (int p = from; p < end; p++) {
+                    value ^= mul[(block[p] & 0x7F) << FIELD | products[column++]];
+                }
+                accumulators[k] ^= value;
+                from = end;
+                if (column == columns1) {
+                    column = 0;
+                    k++;
+                }
+            }
+        }
+        byte[] Q2 = publicKey.q2();
+        for (k = 0; k < oil; k++) {
+            int value = 0;
+            int row = k*columns2;
+            for (int c = 0; c < columns2; c++) {
+                value ^= mul[Q2[row + c] << FIELD | products[columns1 + c]];
+            }
+            accumulators[k] ^= value;
+        }
+        return new GFMatrix(accumulators, oil, 1);
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.cripto.luov.utils;
+
+/**
+ * Verification Request Class.
+ * <p>
+ * A (Public Key, Message, Signature) triple to be checked by a batch
+ * verification. Instances are immutable.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public class VerificationRequest {
+
+    private final PublicKey publicKey;
+    private final String message;
+    private final Signature signature;
+
+    /**
+     * Constructor Method.
+     * @param publicKey Public Key used for Verification.
+     * @param message Message to be Verified.
+     * @param signature Sign to be Verified.
+     */
+    public VerificationRequest(PublicKey publicKey, String message,
+            Signature signature) {
+        if (publicKey == null || message == null || signature == null) {
+            throw new NullPointerException("Incomplete verification request");
+        }
+        this.publicKey = publicKey;
+        this.message = message;
+        this.signature = signature;
+    }
+
+    /**
+     * Get the Public Key.
+     * @return Public Key used for Verification.
+     */
+    public PublicKey getPublicKey() {
+        return publicKey;
+    }
+
+    /**
+     * Get the Message.
+     * @return Message to be Verified.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Get the Signature.
+     * @return Sign to be Verified.
+     */
+    public Signature getSignature() {
+        return signature;
+    }
+
+    /**
+     * Override of toString of the Object.
+     * @return To String of the Object.
+     */
+    @Override
+    public String toString() {
+        return "[publicSeed=" + publicKey.getPublicSeed() + ", message="
+                + message + "]";
+    }
+
+}
@@ -32,7 +32,7 @@ public class Main {
         String messageToBeVerified = br.readLine();
         //Signature wrongSign = new Signature(sign.getS(), "00000000000000000000000000000000");
         System.out.println("Valid Message Signature: " + 
-                luov.verify(luov.publicKey, messageToBeVerified, sign));
+                luov.verify(luov.getPublicKey(), messageToBeVerified, sign));
     }
     
 }
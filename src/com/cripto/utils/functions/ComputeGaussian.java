@@ -1,8 +1,6 @@
 
 package com.cripto.utils.functions;
 
-import org.bouncycastle.pqc.math.linearalgebra.GF2mField;
-
 /**
  * Modified Gaussian Elimination Class.
  * @author Eduardo Angulo
@@ -14,7 +12,7 @@ public class ComputeGaussian {
     
     protected int A[][];
     int[] x;
-    protected final GF2mField gf;
+    protected final GaloisField gf;
     
     /**
      * Constructor Method.
@@ -22,7 +20,7 @@ public class ComputeGaussian {
      * @param poly Irreducible Polynomial in GF(2^degree).
      */
     public ComputeGaussian(int degree, int poly) {
-        this.gf = new GF2mField(degree, poly);
+        this.gf = GaloisField.getInstance(degree, poly);
     }
     
     /**
@@ -3,7 +3,6 @@ package com.cripto.utils.functions;
 
 import java.math.BigInteger;
 import java.util.Arrays;
-import org.bouncycastle.pqc.math.linearalgebra.GF2mField;
 import org.bouncycastle.util.encoders.Hex;
 
 /**
@@ -36,7 +35,7 @@ public class Functions {
      * @return XOR between x and y.
      */
     public static int XOR(int x, int y) {
-        return (x | y) & (~x | ~y);
+        return x ^ y;
     }
     
     /**
@@ -48,8 +47,7 @@ public class Functions {
      * @return Multiplication: (a * b) mod poly.
      */
     public static int fieldMult(int r, int poly, int a, int b) {
-        GF2mField field = new GF2mField(r, poly);
-        return field.mult(a, b);
+        return GaloisField.getInstance(r, poly).mult(a, b);
     }
     
     /**
@@ -77,12 +75,20 @@ public class Functions {
      * @return Result Matrix.
      */
     public static int[][] matrixMult(int r, int poly, int[][] mat1, int[][] mat2) {
-        GF2mField field = new GF2mField(r, poly);
+        GaloisField field = GaloisField.getInstance(r, poly);
+        byte[] mul = field.multTable();
         int[][] result = new int[mat1.length][mat2[0].length];
         for (int i = 0; i < mat1.length; i++) {
-            for (int j = 0; j < mat2[0].length; j++) {
-                for (int k = 0; k < mat1[0].length; k++) {
-                    result[i][j] = XOR(result[i][j], field.mult(mat1[i][k], mat2[k][j]));
+            int[] row = result[i];
+            for (int k = 0; k < mat1[0].length; k++) {
+                int a = mat1[i][k];
+                if(a == 0) {
+                    continue;
+                }
+                int base = a << r;
+                int[] other = mat2[k];
+                for (int j = 0; j < row.length; j++) {
+                    row[j] ^= mul[base | other[j]] & 0xFF;
                 }
             }
         }
@@ -0,0 +1,230 @@
+package com.cripto.utils.functions;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table Driven Galois Field GF(2^r) Arithmetic Class.
+ * <p>
+ * All the tables (log, exp, inverse and full multiplication) are computed once
+ * when the field is built, so every operation is a single array lookup and
+ * none of them allocate. Fields are immutable and can be shared between
+ * threads.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public final class GaloisField {
+
+    /**
+     * Maximum Supported Degree (Multiplication Table must fit in Bytes).
+     */
+    public static final int MAX_DEGREE = 8;
+
+    /**
+     * GF(2^7) with Irreducible Polynomial x^7 + x + 1 used by LUOV.
+     */
+    public static final GaloisField GF128 = new GaloisField(7, 131);
+
+    private static final ConcurrentHashMap<Integer, GaloisField> FIELDS =
+            new ConcurrentHashMap<>();
+
+    private final int degree;
+    private final int poly;
+    private final int size;
+    private final int[] exp;
+    private final int[] log;
+    private final byte[] inv;
+    private final byte[] mul;
+
+    /**
+     * Constructor Method.
+     * @param degree GF Degree.
+     * @param poly Irreducible Polynomial in GF(2^degree).
+     * @throws IllegalArgumentException if degree is not supported or poly is
+     * not an irreducible polynomial of the given degree.
+     */
+    public GaloisField(int degree, int poly) {
+        if (degree < 1 || degree > MAX_DEGREE) {
+            throw new IllegalArgumentException(
+                    "Unsupported field degree: " + degree);
+        }
+        if ((poly >>> degree) != 1) {
+            throw new IllegalArgumentException(
+                    "Polynomial " + poly + " has not degree " + degree);
+        }
+        this.degree = degree;
+        this.poly = poly;
+        this.size = 1 << degree;
+        this.exp = new int[2*size];
+        this.log = new int[size];
+        this.inv = new byte[size];
+        this.mul = new byte[size*size];
+        buildTables();
+    }
+
+    /**
+     * Get the Field for Given Degree and Polynomial.
+     * <p>
+     * The LUOV field is returned without any lookup, other fields are built
+     * once and cached.
+     * </p>
+     * @param degree GF Degree.
+     * @param poly Irreducible Polynomial in GF(2^degree).
+     * @return Shared Field Instance.
+     */
+    public static GaloisField getInstance(int degree, int poly) {
+        if (degree == GF128.degree && poly == GF128.poly) {
+            return GF128;
+        }
+        return FIELDS.computeIfAbsent((degree << 16) | poly,
+                key -> new GaloisField(degree, poly));
+    }
+
+    /**
+     * Fill the exp, log, inverse and multiplication tables.
+     */
+    private void buildTables() {
+        int generator = findGenerator();
+        if (generator == 0) {
+            throw new IllegalArgumentException(
+                    "Polynomial " + poly + " is not irreducible");
+        }
+        int x = 1;
+        for (int i = 0; i < size - 1; i++) {
+            exp[i] = x;
+            exp[i + size - 1] = x;
+            log[x] = i;
+            x = slowMult(x, generator);
+        }
+        for (int a = 1; a < size; a++) {
+            inv[a] = (byte) exp[size - 1 - log[a]];
+            for (int b = 1; b < size; b++) {
+                mul[(a << degree) | b] = (byte) exp[log[a] + log[b]];
+            }
+        }
+    }
+
+    /**
+     * Search an Element that Generates the Multiplicative Group.
+     * @return Generator, or 0 if poly is not irreducible.
+     */
+    private int findGenerator() {
+        for (int g = 2; g < size; g++) {
+            int x = 1;
+            int order = 0;
+            do {
+                x = slowMult(x, g);
+                order++;
+            } while (x != 1 && x != 0 && order < size);
+            if (x == 1 && order == size - 1) {
+                return g;
+            }
+        }
+        return size == 2 ? 1 : 0;
+    }
+
+    /**
+     * Shift and Add Multiplication, only used to build the tables.
+     * @param a First Field Element.
+     * @param b Second Field Element.
+     * @return (a * b) mod poly.
+     */
+    private int slowMult(int a, int b) {
+        int result = 0;
+        while (b != 0) {
+            if ((b & 1) != 0) {
+                result ^= a;
+            }
+            a <<= 1;
+            if ((a & size) != 0) {
+                a ^= poly;
+            }
+            b >>>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * Get the Field Degree.
+     * @return Field Degree r.
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /**
+     * Get the Irreducible Polynomial.
+     * @return Irreducible Polynomial.
+     */
+    public int getPolynomial() {
+        return poly;
+    }
+
+    /**
+     * Get the Number of Elements of the Field.
+     * @return 2^r.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Add Two Field Elements.
+     * @param a First Field Element.
+     * @param b Second Field Element.
+     * @return a + b.
+     */
+    public int add(int a, int b) {
+        return a ^ b;
+    }
+
+    /**
+     * Multiply Two Field Elements.
+     * @param a First Field Element.
+     * @param b Second Field Element.
+     * @return (a * b) mod poly.
+     */
+    public int mult(int a, int b) {
+        return mul[(a << degree) | b] & 0xFF;
+    }
+
+    /**
+     * Get the Multiplicative Inverse of a Field Element.
+     * @param a Field Element.
+     * @return a^-1, or 0 if a is 0.
+     */
+    public int inverse(int a) {
+        return inv[a] & 0xFF;
+    }
+
+    /**
+     * Raise a Field Element to the Given Power.
+     * @param a Field Element.
+     * @param k Exponent (k &gt;= 0).
+     * @return a^k.
+     */
+    public int pow(int a, int k) {
+        if (k == 0) {
+            return 1;
+        }
+        if (a == 0) {
+            return 0;
+        }
+        return exp[(int) ((long) log[a] * k % (size - 1))];
+    }
+
+    /**
+     * Get the Full Multiplication Table.
+     * <p>
+     * Entry (a, b) is stored at index (a &lt;&lt; r) | b, so the products of a
+     * fixed a are contiguous.
+     * </p>
+     * @return Multiplication Table (Shared, must not be Modified).
+     */
+    public byte[] multTable() {
+        return mul;
+    }
+
+}
@@ -1,79 +1,320 @@
-
 package com.cripto.utils.functions;
 
-import java.math.BigInteger;
+import com.cripto.utils.models.GFMatrix;
+import java.nio.ByteBuffer;
 
 /**
- * Hex String and GF(2^7) Arrays Packer Class.
+ * Hex String, Binary and GF(2^7) Arrays Packer Class.
+ * <p>
+ * The hex form uses two hex digits per element, the binary form one byte
+ * per element and the packed form 7 bits per element, all in row-major
+ * order. Every method runs in linear time.
+ * </p>
  * @author Eduardo Angulo
  * @author Sebastián Cabarcas
  * @author Andrés Duarte
  * @author Jorge Pinzón
  */
 public class Pack {
-    
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
     /**
      * Generates the Hex String of Given Matrix.
      * @param mat Integer GF(2^7) Matrix.
      * @return Hex String of Matrix.
      */
     public static String pack(int[][] mat) {
-        String result = "";
+        char[] result = new char[2*mat.length*mat[0].length];
+        int index = 0;
         for (int i = 0; i < mat.length; i++) {
             for (int j = 0; j < mat[0].length; j++) {
-                result += Functions.padding((new BigInteger(
-                        "" + mat[i][j])).toString(16), 2);
+                index = appendHex(result, index, mat[i][j]);
             }
         }
-        return result;
+        return new String(result);
     }
-    
+
     /**
      * Generates the Hex String of Given Vector.
      * @param vec Integer GF(2^7) Vector.
      * @return Hex String of Vector.
      */
     public static String pack(int[] vec) {
-        String result = "";
+        char[] result = new char[2*vec.length];
+        int index = 0;
         for (int i = 0; i < vec.length; i++) {
-            result += Functions.padding((new BigInteger(
-                    "" + vec[i])).toString(16), 2);
+            index = appendHex(result, index, vec[i]);
         }
-        return result;
+        return new String(result);
+    }
+
+    /**
+     * Generates the Hex String of Given GF(2^7) Matrix.
+     * @param mat GF(2^7) Matrix.
+     * @return Hex String of Matrix.
+     */
+    public static String pack(GFMatrix mat) {
+        char[] result = new char[2*mat.getRows()*mat.getColumns()];
+        int index = 0;
+        for (int i = 0; i < mat.getRows(); i++) {
+            for (int j = 0; j < mat.getColumns(); j++) {
+                index = appendHex(result, index, mat.get(i, j));
+            }
+        }
+        return new String(result);
+    }
+
+    /**
+     * Generates a GF(2^7) Matrix from Given Hex String.
+     * @param hex Matrix String in hexagesimal.
+     * @param row Matrix Row Dimension.
+     * @param column Matrix Column Dimension.
+     * @return GF(2^7) Matrix.
+     */
+    public static GFMatrix unpackMatrix(String hex, int row, int column) {
+        return new GFMatrix(fromHex(hex, row*column), row, column);
     }
-    
+
     /**
      * Generates a matrix of elements in GF(2^7) from Given Hex String.
      * @param hex Matrix String in hexagesimal.
      * @param row Matrix Row Dimension.
      * @param column Matrix Column Dimension.
      * @return Integer (GF(2^7) elements) Matrix.
+     * @throws IllegalArgumentException if the string has another length or
+     * a character that is not a hex digit.
      */
     public static int[][] unpack(String hex, int row, int column) {
+        checkHexLength(hex, row*column);
         int[][] unpackedMatrix = new int[row][column];
+        int index = 0;
         for (int i = 0; i < row; i++) {
-            String rowHex = hex.substring(2*column*i, 2*column*(i+1));
             for (int j = 0; j < column; j++) {
-                String actual = rowHex.substring(2*j, 2*(j+1));
-                unpackedMatrix[i][j] = (new BigInteger(actual, 16)).intValue();
+                unpackedMatrix[i][j] = hexByte(hex, index++);
             }
         }
         return unpackedMatrix;
     }
-    
+
     /**
      * Generates a vector of elements in GF(2^7) from Given Hex String.
      * @param hex Vector String in hexagesimal.
      * @param dim Vector Dimension.
      * @return Integer (GF(2^7) elements) Vector.
+     * @throws IllegalArgumentException if the string has another length or
+     * a character that is not a hex digit.
      */
     public static int[] unpack(String hex, int dim) {
+        checkHexLength(hex, dim);
         int[] unpackedVector = new int[dim];
         for (int i = 0; i < dim; i++) {
-            String actual = hex.substring(2*i, 2*(i+1));
-            unpackedVector[i] = (new BigInteger(actual, 16)).intValue();
+            unpackedVector[i] = hexByte(hex, i);
         }
         return unpackedVector;
     }
-    
+
+    /**
+     * Encodes a GF(2^7) Matrix into a new Byte Array, one Byte per Element.
+     * @param mat GF(2^7) Matrix.
+     * @return Byte Array of Matrix.
+     */
+    public static byte[] encode(GFMatrix mat) {
+        ByteBuffer out = ByteBuffer.allocate(mat.getRows()*mat.getColumns());
+        encode(mat, out);
+        return out.array();
+    }
+
+    /**
+     * Encodes a GF(2^7) Matrix into a Buffer, one Byte per Element.
+     * @param mat GF(2^7) Matrix.
+     * @param out Destination Buffer, its Position is Advanced.
+     */
+    public static void encode(GFMatrix mat, ByteBuffer out) {
+        for (int i = 0; i < mat.getRows(); i++) {
+            for (int j = 0; j < mat.getColumns(); j++) {
+                out.put((byte) mat.get(i, j));
+            }
+        }
+    }
+
+    /**
+     * Decodes a GF(2^7) Matrix from a Byte Array, one Byte per Element.
+     * @param data Byte Array of Matrix (Copied).
+     * @param row Matrix Row Dimension.
+     * @param column Matrix Column Dimension.
+     * @return GF(2^7) Matrix.
+     * @throws IllegalArgumentException if an element is not in GF(2^7).
+     */
+    public static GFMatrix decode(byte[] data, int row, int column) {
+        return decode(ByteBuffer.wrap(data), row, column);
+    }
+
+    /**
+     * Decodes a GF(2^7) Matrix from a Buffer, one Byte per Element.
+     * @param in Source Buffer, its Position is Advanced.
+     * @param row Matrix Row Dimension.
+     * @param column Matrix Column Dimension.
+     * @return GF(2^7) Matrix.
+     * @throws IllegalArgumentException if an element is not in GF(2^7).
+     */
+    public static GFMatrix decode(ByteBuffer in, int row, int column) {
+        byte[] data = new byte[row*column];
+        in.get(data);
+        checkElements(data);
+        return new GFMatrix(data, row, column);
+    }
+
+    /**
+     * Get the Bytes of the Packed Form of GF(2^7) Elements.
+     * @param count Number of Elements.
+     * @return Packed Length, 7 Bits per Element Rounded up to Bytes.
+     */
+    public static int packedLength(int count) {
+        return (int) ((7L*count + 7)/8);
+    }
+
+    /**
+     * Encodes GF(2^7) Elements into a Buffer, 7 Bits per Element.
+     * <p>
+     * Element i takes the bits 7*i to 7*i + 6 of the stream, least
+     * significant bit first, and the padding bits of the last byte are 0.
+     * </p>
+     * @param elements Byte Array of Elements.
+     * @param out Destination Buffer, its Position is Advanced.
+     * @throws IllegalArgumentException if an element is not in GF(2^7).
+     */
+    public static void encodePacked(byte[] elements, ByteBuffer out) {
+        checkElements(elements);
+        long bits = 0;
+        int count = 0;
+        for (int i = 0; i < elements.length; i++) {
+            bits |= (long) elements[i] << count;
+            count += 7;
+            if (count >= 8) {
+                out.put((byte) bits);
+                bits >>>= 8;
+                count -= 8;
+            }
+        }
+        if (count > 0) {
+            out.put((byte) bits);
+        }
+    }
+
+    /**
+     * Decodes GF(2^7) Elements from a Buffer, 7 Bits per Element.
+     * @param in Source Buffer, its Position is Advanced.
+     * @param count Number of Elements.
+     * @return Byte Array of Elements.
+     * @throws IllegalArgumentException if the padding bits are not 0.
+     */
+    public static byte[] decodePacked(ByteBuffer in, int count) {
+        byte[] elements = new byte[count];
+        long bits = 0;
+        int available = 0;
+        for (int i = 0; i < count; i++) {
+            if (available < 7) {
+                bits |= (long) (in.get() & 0xFF) << available;
+                available += 8;
+            }
+            elements[i] = (byte) (bits & 0x7F);
+            bits >>>= 7;
+            available -= 7;
+        }
+        if (bits != 0) {
+            throw new IllegalArgumentException("Non zero padding bits");
+        }
+        return elements;
+    }
+
+    /**
+     * Verify every Byte is an Element of GF(2^7).
+     * @param data Byte Array of Elements.
+     * @throws IllegalArgumentException if an element is not in GF(2^7).
+     */
+    public static void checkElements(byte[] data) {
+        int all = 0;
+        for (int i = 0; i < data.length; i++) {
+            all |= data[i];
+        }
+        if ((all & 0x80) != 0) {
+            throw new IllegalArgumentException("Element out of GF(2^7)");
+        }
+    }
+
+    /**
+     * Generates the Hex String of Given Bytes.
+     * @param data Byte Array.
+     * @return Hex String, Two Digits per Byte.
+     */
+    public static String toHex(byte[] data) {
+        char[] result = new char[2*data.length];
+        int index = 0;
+        for (int i = 0; i < data.length; i++) {
+            index = appendHex(result, index, data[i] & 0xFF);
+        }
+        return new String(result);
+    }
+
+    /**
+     * Generates the Bytes of Given Hex String.
+     * @param hex Hex String, Two Digits per Byte.
+     * @param length Number of Bytes of the String.
+     * @return Byte Array.
+     * @throws IllegalArgumentException if the string has another length or
+     * a character that is not a hex digit.
+     */
+    public static byte[] fromHex(String hex, int length) {
+        checkHexLength(hex, length);
+        byte[] result = new byte[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = (byte) hexByte(hex, i);
+        }
+        return result;
+    }
+
+    /**
+     * Write the Two Hex Digits of a Byte.
+     * @param dst Destination Char Array.
+     * @param index Destination Index.
+     * @param value Byte Value.
+     * @return Next Destination Index.
+     */
+    private static int appendHex(char[] dst, int index, int value) {
+        dst[index] = HEX_DIGITS[(value >>> 4) & 0xF];
+        dst[index + 1] = HEX_DIGITS[value & 0xF];
+        return index + 2;
+    }
+
+    /**
+     * Check the Length of a Hex String.
+     * @param hex Hex String.
+     * @param length Expected Number of Bytes.
+     * @throws IllegalArgumentException if the string has another length.
+     */
+    private static void checkHexLength(String hex, int length) {
+        if (hex.length() != 2L*length) {
+            throw new IllegalArgumentException("Hex string must have "
+                    + 2L*length + " digits");
+        }
+    }
+
+    /**
+     * Read the Byte at Given Position of a Hex String.
+     * @param hex Hex String.
+     * @param i Byte Index.
+     * @return Byte Value.
+     * @throws IllegalArgumentException if a character is not a hex digit.
+     */
+    private static int hexByte(String hex, int i) {
+        int high = Character.digit(hex.charAt(2*i), 16);
+        int low = Character.digit(hex.charAt(2*i + 1), 16);
+        if ((high | low) < 0) {
+            throw new IllegalArgumentException("Invalid hex digit at "
+                    + (high < 0 ? 2*i : 2*i + 1));
+        }
+        return high << 4 | low;
+    }
+
 }
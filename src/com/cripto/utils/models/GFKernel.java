@@ -0,0 +1,240 @@
+package com.cripto.utils.models;
+
+import com.cripto.utils.functions.GaloisField;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * GF(2^7) Matrix Product Kernels Class.
+ * <p>
+ * Two kernels compute result = result + mat1 * mat2:
+ * </p>
+ * <ul>
+ * <li>Scalar: one multiplication table lookup per element.</li>
+ * <li>Packed: the rows of mat2 are packed eight elements per long and their
+ * products by x^0..x^6 are computed once with shifts and masks. Every row of
+ * result is then accumulated with plain long XORs selected by the bits of the
+ * mat1 element, processing eight elements per operation.</li>
+ * </ul>
+ * <p>
+ * The packed kernel is selected automatically when mat2 and result have
+ * contiguous rows long enough to fill the words and mat1 has enough rows to
+ * amortize the packing. Otherwise, or when the system property
+ * {@code luov.kernel} is {@code scalar}, the scalar kernel is used. Both
+ * give the same result.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+final class GFKernel {
+
+    private static final byte[] MUL = GaloisField.GF128.multTable();
+    private static final int FIELD = GaloisField.GF128.getDegree();
+    private static final long HIGH = 0x8080808080808080L;
+    private static final long REDUCE = GaloisField.GF128.getPolynomial()
+            & ((1 << FIELD) - 1);
+
+    /**
+     * Minimum Row Length to use the Packed Kernel.
+     */
+    static final int PACKED_MIN_COLUMNS = 16;
+
+    /**
+     * Minimum Number of Rows of mat1 to amortize Packing mat2.
+     */
+    static final int PACKED_MIN_ROWS = 8;
+
+    /**
+     * Use the Packed Kernel when possible?
+     */
+    static final boolean PACKED_ENABLED =
+            !"scalar".equalsIgnoreCase(System.getProperty("luov.kernel"));
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(
+            long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Longest Scratch Array Kept by a Thread (128 KB), enough for the
+     * products of the key generation.
+     */
+    static final int MAX_CACHED_SCRATCH = 1 << 14;
+
+    private static final ThreadLocal<long[]> SCRATCH =
+            ThreadLocal.withInitial(() -> new long[0]);
+
+    private GFKernel() {
+    }
+
+    /**
+     * Calculates result = result + mat1 * mat2 with the Best Kernel.
+     * @param mat1 First Matrix.
+     * @param mat2 Second Matrix.
+     * @param result Result Matrix.
+     */
+    static void multiplyAdd(GFMatrix mat1, GFMatrix mat2, GFMatrix result) {
+        if (PACKED_ENABLED && mat2.getColumns() >= PACKED_MIN_COLUMNS
+                && mat1.getRows() >= PACKED_MIN_ROWS
+                && mat2.isRowContiguous() && result.isRowContiguous()) {
+            packed(mat1, mat2, result);
+        } else {
+            scalar(mat1, mat2, result);
+        }
+    }
+
+    /**
+     * Scalar Kernel, one Table Lookup per Element.
+     * @param mat1 First Matrix.
+     * @param mat2 Second Matrix.
+     * @param result Result Matrix.
+     */
+    static void scalar(GFMatrix mat1, GFMatrix mat2, GFMatrix result) {
+        byte[] out = result.data();
+        byte[] in = mat2.data();
+        int n = mat2.getColumns();
+        int outStride = result.columnStride();
+        int inStride = mat2.columnStride();
+        for (int i = 0; i < mat1.getRows(); i++) {
+            int r = result.index(i, 0);
+            for (int k = 0; k < mat1.getColumns(); k++) {
+                int a = mat1.get(i, k);
+                if (a == 0) {
+                    continue;
+                }
+                int base = a << FIELD;
+                int q = mat2.index(k, 0);
+                if (outStride == 1 && inStride == 1) {
+                    for (int j = 0; j < n; j++) {
+                        out[r + j] ^= MUL[base | in[q + j]];
+                    }
+                } else {
+                    for (int j = 0; j < n; j++) {
+                        out[r + j*outStride] ^= MUL[base | in[q + j*inStride]];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Packed Kernel, Eight Elements per Long Operation.
+     * @param mat1 First Matrix.
+     * @param mat2 Second Matrix (Contiguous Rows).
+     * @param result Result Matrix (Contiguous Rows).
+     */
+    static void packed(GFMatrix mat1, GFMatrix mat2, GFMatrix result) {
+        int n = mat2.getColumns();
+        int inner = mat2.getRows();
+        int words = (n + 7) >>> 3;
+        int rowWords = FIELD*words;
+        long[] scratch = scratch(inner*rowWords + words);
+        int acc = inner*rowWords;
+        byte[] in = mat2.data();
+        for (int k = 0; k < inner; k++) {
+            int base = k*rowWords;
+            load(in, mat2.index(k, 0), n, scratch, base);
+            for (int b = 1; b < FIELD; b++) {
+                int from = base + (b - 1)*words;
+                int to = base + b*words;
+                for (int w = 0; w < words; w++) {
+                    scratch[to + w] = times(scratch[from + w]);
+                }
+            }
+        }
+        byte[] out = result.data();
+        for (int i = 0; i < mat1.getRows(); i++) {
+            int r = result.index(i, 0);
+            load(out, r, n, scratch, acc);
+            for (int k = 0; k < inner; k++) {
+                int a = mat1.get(i, k);
+                while (a != 0) {
+                    int b = Integer.numberOfTrailingZeros(a);
+                    a &= a - 1;
+                    int from = k*rowWords + b*words;
+                    for (int w = 0; w < words; w++) {
+                        scratch[acc + w] ^= scratch[from + w];
+                    }
+                }
+            }
+            store(scratch, acc, out, r, n);
+        }
+    }
+
+    /**
+     * Multiply Eight Packed Elements by x.
+     * @param word Packed Elements.
+     * @return Packed Elements times x.
+     */
+    private static long times(long word) {
+        long shifted = word << 1;
+        long high = shifted & HIGH;
+        return (shifted ^ high) ^ ((high >>> FIELD) * REDUCE);
+    }
+
+    /**
+     * Pack n Bytes into Longs, Little-Endian.
+     * @param src Source Byte Array.
+     * @param from First Source Index.
+     * @param n Number of Bytes.
+     * @param dst Destination Long Array.
+     * @param to First Destination Index.
+     */
+    private static void load(byte[] src, int from, int n, long[] dst, int to) {
+        int w = 0;
+        int j = 0;
+        for (; j + 8 <= n; j += 8) {
+            dst[to + w++] = (long) LONGS.get(src, from + j);
+        }
+        if (j < n) {
+            long word = 0;
+            for (int t = n - 1; t >= j; t--) {
+                word = (word << 8) | (src[from + t] & 0xFF);
+            }
+            dst[to + w] = word;
+        }
+    }
+
+    /**
+     * Unpack Longs into n Bytes, Little-Endian.
+     * @param src Source Long Array.
+     * @param from First Source Index.
+     * @param dst Destination Byte Array.
+     * @param to First Destination Index.
+     * @param n Number of Bytes.
+     */
+    private static void store(long[] src, int from, byte[] dst, int to, int n) {
+        int w = 0;
+        int j = 0;
+        for (; j + 8 <= n; j += 8) {
+            LONGS.set(dst, to + j, src[from + w++]);
+        }
+        if (j < n) {
+            long word = src[from + w];
+            for (int t = j; t < n; t++) {
+                dst[to + t] = (byte) word;
+                word >>>= 8;
+            }
+        }
+    }
+
+    /**
+     * Get the Scratch Array of the Current Thread.
+     * @param length Minimum Length.
+     * @return Scratch Array, a new one not Kept if longer than
+     * MAX_CACHED_SCRATCH.
+     */
+    private static long[] scratch(int length) {
+        if (length > MAX_CACHED_SCRATCH) {
+            return new long[length];
+        }
+        long[] scratch = SCRATCH.get();
+        if (scratch.length < length) {
+            scratch = new long[length];
+            SCRATCH.set(scratch);
+        }
+        return scratch;
+    }
+
+}
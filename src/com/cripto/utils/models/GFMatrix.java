@@ -0,0 +1,410 @@
+package com.cripto.utils.models;
+
+/**
+ * Matrix over GF(2^7) Class.
+ * <p>
+ * Elements are stored one per byte in a contiguous array. A matrix may be a
+ * view (slice, row, column or transpose) over the array of another matrix, in
+ * which case writes through the view are visible in the original one. This
+ * is also how concatenations are built without copies: the joined matrix is
+ * allocated once and its parts are filled through slice views.
+ * </p>
+ * <p>
+ * In-place operations write into the matrix they are called on (or the given
+ * result matrix), which must not overlap with the operands.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public final class GFMatrix {
+
+    private final byte[] data;
+    private final int offset;
+    private final int rows;
+    private final int columns;
+    private final int rowStride;
+    private final int columnStride;
+
+    /**
+     * Constructor Method, Zero Matrix.
+     * @param rows Row Length.
+     * @param columns Column Length.
+     */
+    public GFMatrix(int rows, int columns) {
+        this(new byte[rows*columns], 0, rows, columns, columns, 1);
+    }
+
+    /**
+     * Constructor Method, Wraps a Row-Major Array without Copying.
+     * @param data Row-Major Elements over GF(2^7).
+     * @param rows Row Length.
+     * @param columns Column Length.
+     */
+    public GFMatrix(byte[] data, int rows, int columns) {
+        this(data, 0, rows, columns, columns, 1);
+        if (data.length < rows*columns) {
+            throw new IllegalArgumentException("Array too short for matrix");
+        }
+    }
+
+    /**
+     * View Constructor Method.
+     */
+    private GFMatrix(byte[] data, int offset, int rows, int columns,
+            int rowStride, int columnStride) {
+        this.data = data;
+        this.offset = offset;
+        this.rows = rows;
+        this.columns = columns;
+        this.rowStride = rowStride;
+        this.columnStride = columnStride;
+    }
+
+    /**
+     * Generates a Identity Matrix.
+     * @param dim Dimension of the Matrix.
+     * @return Identity Matrix of (dim x dim).
+     */
+    public static GFMatrix identity(int dim) {
+        GFMatrix result = new GFMatrix(dim, dim);
+        for (int i = 0; i < dim; i++) {
+            result.set(i, i, 1);
+        }
+        return result;
+    }
+
+    /**
+     * Generates a Matrix from an Integer Matrix over GF(2^7).
+     * @param mat Integer Matrix.
+     * @return New Matrix.
+     */
+    public static GFMatrix fromArray(int[][] mat) {
+        GFMatrix result = new GFMatrix(mat.length, mat[0].length);
+        for (int i = 0; i < result.rows; i++) {
+            for (int j = 0; j < result.columns; j++) {
+                result.set(i, j, mat[i][j]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Generates the Integer Matrix of this Matrix.
+     * @return New Integer Matrix.
+     */
+    public int[][] toArray() {
+        int[][] result = new int[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                result[i][j] = get(i, j);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the Row Length.
+     * @return Number of Rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Get the Column Length.
+     * @return Number of Columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Get an Element.
+     * @param i Row Index.
+     * @param j Column Index.
+     * @return Element (i, j).
+     */
+    public int get(int i, int j) {
+        return data[offset + i*rowStride + j*columnStride];
+    }
+
+    /**
+     * Set an Element.
+     * @param i Row Index.
+     * @param j Column Index.
+     * @param value Element over GF(2^7).
+     */
+    public void set(int i, int j, int value) {
+        data[offset + i*rowStride + j*columnStride] = (byte) value;
+    }
+
+    /**
+     * Get a View of a Block of this Matrix.
+     * @param row First Row.
+     * @param column First Column.
+     * @param rows Row Length.
+     * @param columns Column Length.
+     * @return Block View.
+     */
+    public GFMatrix slice(int row, int column, int rows, int columns) {
+        if (row < 0 || column < 0 || row + rows > this.rows
+                || column + columns > this.columns) {
+            throw new IndexOutOfBoundsException("Slice out of matrix bounds");
+        }
+        return new GFMatrix(data, offset + row*rowStride + column*columnStride,
+                rows, columns, rowStride, columnStride);
+    }
+
+    /**
+     * Get a View of a Row of this Matrix.
+     * @param i Row Index.
+     * @return Row View (1 x columns).
+     */
+    public GFMatrix row(int i) {
+        return slice(i, 0, 1, columns);
+    }
+
+    /**
+     * Get a View of a Column of this Matrix.
+     * @param j Column Index.
+     * @return Column View (rows x 1).
+     */
+    public GFMatrix column(int j) {
+        return slice(0, j, rows, 1);
+    }
+
+    /**
+     * Get a View of this Matrix with other Dimensions.
+     * <p>
+     * The matrix must be contiguous (not a slice of a wider matrix nor a
+     * transpose); the elements are read in row-major order.
+     * </p>
+     * @param rows New Row Length.
+     * @param columns New Column Length.
+     * @return Reshaped View.
+     */
+    public GFMatrix reshape(int rows, int columns) {
+        if (rows*columns != this.rows*this.columns) {
+            throw new IllegalArgumentException("Matrix dimensions do not match");
+        }
+        if (columnStride != 1 || (this.rows > 1 && rowStride != this.columns)) {
+            throw new IllegalStateException("Matrix is not contiguous");
+        }
+        return new GFMatrix(data, offset, rows, columns, columns, 1);
+    }
+
+    /**
+     * Get a Transposed View of this Matrix.
+     * @return Transposed View.
+     */
+    public GFMatrix transpose() {
+        return new GFMatrix(data, offset, columns, rows, columnStride, rowStride);
+    }
+
+    /**
+     * Generates a Contiguous Copy of this Matrix.
+     * @return New Matrix.
+     */
+    public GFMatrix copy() {
+        GFMatrix result = new GFMatrix(rows, columns);
+        result.copyFrom(this);
+        return result;
+    }
+
+    /**
+     * Copy the Elements of Other Matrix into this one.
+     * @param other Source Matrix of same Dimensions.
+     * @return This Matrix.
+     */
+    public GFMatrix copyFrom(GFMatrix other) {
+        checkSameShape(other);
+        if (columnStride == 1 && other.columnStride == 1) {
+            for (int i = 0; i < rows; i++) {
+                System.arraycopy(other.data, other.offset + i*other.rowStride,
+                        data, offset + i*rowStride, columns);
+            }
+        } else {
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < columns; j++) {
+                    set(i, j, other.get(i, j));
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Set every Element to 0.
+     * @return This Matrix.
+     */
+    public GFMatrix clear() {
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                data[offset + i*rowStride + j*columnStride] = 0;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * XOR Add Other Matrix into this one.
+     * @param other Matrix of same Dimensions.
+     * @return This Matrix.
+     */
+    public GFMatrix addInPlace(GFMatrix other) {
+        checkSameShape(other);
+        for (int i = 0; i < rows; i++) {
+            int p = offset + i*rowStride;
+            int q = other.offset + i*other.rowStride;
+            for (int j = 0; j < columns; j++) {
+                data[p] ^= other.data[q];
+                p += columnStride;
+                q += other.columnStride;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Calculates result = mat1 * mat2 over GF(2^7).
+     * @param mat1 First Matrix.
+     * @param mat2 Second Matrix.
+     * @param result Result Matrix, overwritten.
+     * @return Result Matrix.
+     */
+    public static GFMatrix multiply(GFMatrix mat1, GFMatrix mat2, GFMatrix result) {
+        result.clear();
+        return multiplyAdd(mat1, mat2, result);
+    }
+
+    /**
+     * Calculates result = result + mat1 * mat2 over GF(2^7).
+     * @param mat1 First Matrix.
+     * @param mat2 Second Matrix.
+     * @param result Result Matrix, accumulated.
+     * @return Result Matrix.
+     */
+    public static GFMatrix multiplyAdd(GFMatrix mat1, GFMatrix mat2, GFMatrix result) {
+        if (mat1.columns != mat2.rows || result.rows != mat1.rows
+                || result.columns != mat2.columns) {
+            throw new IllegalArgumentException("Matrix dimensions do not match");
+        }
+        GFKernel.multiplyAdd(mat1, mat2, result);
+        return result;
+    }
+
+    /**
+     * Join the Rows of Two Matrix into a new one.
+     * @param mat1 First Matrix.
+     * @param mat2 Second Matrix.
+     * @return Union Matrix.
+     */
+    public static GFMatrix rowUnion(GFMatrix mat1, GFMatrix mat2) {
+        GFMatrix result = new GFMatrix(mat1.rows + mat2.rows, mat1.columns);
+        result.slice(0, 0, mat1.rows, mat1.columns).copyFrom(mat1);
+        result.slice(mat1.rows, 0, mat2.rows, mat2.columns).copyFrom(mat2);
+        return result;
+    }
+
+    /**
+     * Join the Columns of Two Matrix into a new one.
+     * @param mat1 First Matrix.
+     * @param mat2 Second Matrix.
+     * @return Union Matrix.
+     */
+    public static GFMatrix columnUnion(GFMatrix mat1, GFMatrix mat2) {
+        GFMatrix result = new GFMatrix(mat1.rows, mat1.columns + mat2.columns);
+        result.slice(0, 0, mat1.rows, mat1.columns).copyFrom(mat1);
+        result.slice(0, mat1.columns, mat2.rows, mat2.columns).copyFrom(mat2);
+        return result;
+    }
+
+    /**
+     * Get the Backing Array.
+     * @return Backing Array (Shared).
+     */
+    byte[] data() {
+        return data;
+    }
+
+    /**
+     * Get the Position of an Element in the Backing Array.
+     * @param i Row Index.
+     * @param j Column Index.
+     * @return Array Index of Element (i, j).
+     */
+    int index(int i, int j) {
+        return offset + i*rowStride + j*columnStride;
+    }
+
+    /**
+     * Get the Distance between Two Consecutive Elements of a Row.
+     * @return Column Stride.
+     */
+    int columnStride() {
+        return columnStride;
+    }
+
+    /**
+     * Are the Elements of each Row Contiguous in the Backing Array?
+     * @return Column Stride is 1.
+     */
+    boolean isRowContiguous() {
+        return columnStride == 1;
+    }
+
+    /**
+     * Verify the Other Matrix has the same Dimensions.
+     * @param other Other Matrix.
+     */
+    private void checkSameShape(GFMatrix other) {
+        if (rows != other.rows || columns != other.columns) {
+            throw new IllegalArgumentException("Matrix dimensions do not match");
+        }
+    }
+
+    /**
+     * Verify if Two Matrix are Equals.
+     * @param obj Other Object.
+     * @return Same Dimensions and Elements?
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof GFMatrix)) {
+            return false;
+        }
+        GFMatrix other = (GFMatrix) obj;
+        if (rows != other.rows || columns != other.columns) {
+            return false;
+        }
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                if (get(i, j) != other.get(i, j)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Override of hashCode of the Object.
+     * @return Hash Code of the Elements.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 31*rows + columns;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                hash = 31*hash + get(i, j);
+            }
+        }
+        return hash;
+    }
+
+}
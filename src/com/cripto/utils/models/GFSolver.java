@@ -0,0 +1,135 @@
+package com.cripto.utils.models;
+
+import com.cripto.utils.functions.GaloisField;
+
+/**
+ * Pivoting Gaussian Solver over GF(2^7) Class.
+ * <p>
+ * Solves A*x = b given the augmented matrix (A||b), working in place on it.
+ * The coefficient part is factored first, with row pivoting, and the
+ * multipliers are kept under the diagonal. A rank deficient A is detected
+ * during the factorization, before any work on b. Only then b is reduced
+ * with the stored multipliers and x is found by backward substitution.
+ * </p>
+ * <p>
+ * Failure is reported by the return value, never by an exception, and no
+ * memory is allocated, so the same workspace can be reused by every attempt.
+ * </p>
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public final class GFSolver {
+
+    private static final GaloisField GF = GaloisField.GF128;
+    private static final byte[] MUL = GF.multTable();
+    private static final int FIELD = GF.getDegree();
+
+    private GFSolver() {
+    }
+
+    /**
+     * Solve the Equation System A*x = b.
+     * @param augmented Augmented Matrix (A||b) of (n x n+1), Overwritten.
+     * @param x Matrix (n x 1) where the Solution is Stored.
+     * @return Has A Full Rank (and x a Solution)?
+     * @throws IllegalArgumentException if the dimensions do not match.
+     */
+    public static boolean solve(GFMatrix augmented, GFMatrix x) {
+        int n = augmented.getRows();
+        if (augmented.getColumns() != n + 1 || x.getRows() != n
+                || x.getColumns() != 1) {
+            throw new IllegalArgumentException("Matrix dimensions do not match");
+        }
+        if (!factor(augmented, n)) {
+            return false;
+        }
+        byte[] a = augmented.data();
+        int cs = augmented.columnStride();
+        int rhs = n*cs;
+        for (int k = 0; k < n; k++) {
+            int b = a[augmented.index(k, 0) + rhs];
+            if (b == 0) {
+                continue;
+            }
+            for (int i = k + 1; i < n; i++) {
+                int row = augmented.index(i, 0);
+                a[row + rhs] ^= MUL[(a[row + k*cs] << FIELD) | b];
+            }
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            int row = augmented.index(i, 0);
+            int sum = a[row + rhs];
+            for (int j = i + 1; j < n; j++) {
+                sum ^= MUL[(a[row + j*cs] << FIELD) | x.get(j, 0)];
+            }
+            x.set(i, 0, MUL[(GF.inverse(a[row + i*cs]) << FIELD) | sum]);
+        }
+        return true;
+    }
+
+    /**
+     * Factor the Coefficient Part in Place, Pivoting Rows.
+     * <p>
+     * After a successful call, the upper triangle holds U and each element
+     * under the diagonal the multiplier used to eliminate it. Rows are
+     * swapped whole, so b follows its equation.
+     * </p>
+     * @param augmented Augmented Matrix (A||b).
+     * @param n Number of Equations.
+     * @return Has A Full Rank?
+     */
+    private static boolean factor(GFMatrix augmented, int n) {
+        byte[] a = augmented.data();
+        int cs = augmented.columnStride();
+        for (int k = 0; k < n; k++) {
+            int pivot = k;
+            while (pivot < n && a[augmented.index(pivot, k)] == 0) {
+                pivot++;
+            }
+            if (pivot == n) {
+                return false;
+            }
+            if (pivot != k) {
+                swapRows(augmented, k, pivot, n + 1);
+            }
+            int rowK = augmented.index(k, 0);
+            int inverse = GF.inverse(a[rowK + k*cs]) << FIELD;
+            for (int i = k + 1; i < n; i++) {
+                int row = augmented.index(i, 0);
+                int factor = a[row + k*cs];
+                if (factor == 0) {
+                    continue;
+                }
+                factor = MUL[inverse | factor];
+                a[row + k*cs] = (byte) factor;
+                int base = factor << FIELD;
+                for (int j = k + 1; j < n; j++) {
+                    a[row + j*cs] ^= MUL[base | a[rowK + j*cs]];
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Swap Two Rows of a Matrix.
+     * @param mat Matrix.
+     * @param i First Row.
+     * @param k Second Row.
+     * @param columns Number of Columns.
+     */
+    private static void swapRows(GFMatrix mat, int i, int k, int columns) {
+        byte[] a = mat.data();
+        int cs = mat.columnStride();
+        int p = mat.index(i, 0);
+        int q = mat.index(k, 0);
+        for (int j = 0; j < columns; j++) {
+            byte tmp = a[p + j*cs];
+            a[p + j*cs] = a[q + j*cs];
+            a[q + j*cs] = tmp;
+        }
+    }
+
+}
@@ -10,8 +10,8 @@ package com.cripto.utils.models;
  */
 public abstract class Polynomial {
     
-    protected int[][] constantPart;
-    protected int[][] linearPart;
-    protected int[][] quadraticPart;
+    protected GFMatrix constantPart;
+    protected GFMatrix linearPart;
+    protected GFMatrix quadraticPart;
     
 }
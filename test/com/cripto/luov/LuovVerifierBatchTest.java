@@ -0,0 +1,128 @@
+package com.cripto.luov;
+
+import com.cripto.luov.utils.PRNG;
+import com.cripto.luov.utils.PrivateKey;
+import com.cripto.luov.utils.PublicKey;
+import com.cripto.luov.utils.PublicKeyCache;
+import com.cripto.luov.utils.Signature;
+import com.cripto.luov.utils.VerificationRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bouncycastle.util.encoders.Hex;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Batch Verification Tests.
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public class LuovVerifierBatchTest {
+
+    private static final int KEYS = 24;
+    private static final int REQUESTS_PER_KEY = 3;
+    private static final int HOT_MAPS = 2;
+
+    /**
+     * A batch with more distinct keys than the hot tier holds keeps the
+     * cache budget, holds only a few maps at a time and gives the same
+     * results as verify.
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void batchWithMoreKeysThanTheHotBudget() throws Exception {
+        LuovSigner signer = new LuovSigner(
+                new PrivateKey(Hex.toHexString(PRNG.randomBytes(32))));
+        List<PublicKey> keys = new ArrayList<>();
+        keys.add(signer.getPublicKey());
+        Random random = new Random(1);
+        for (int k = 1; k < KEYS; k++) {
+            keys.add(randomPublicKey(random));
+        }
+        List<VerificationRequest> requests = new ArrayList<>();
+        for (int r = 0; r < REQUESTS_PER_KEY; r++) {
+            String message = "message " + r;
+            Signature sign = signer.sign(message);
+            for (PublicKey key : keys) {
+                requests.add(new VerificationRequest(key, message, sign));
+            }
+            requests.add(new VerificationRequest(keys.get(0), message + "!", sign));
+        }
+
+        PublicKeyCache probe = new PublicKeyCache();
+        probe.getPublicMap(keys.get(0));
+        long mapBytes = probe.getHotBytes();
+        probe = null;
+
+        PublicKeyCache cache = new PublicKeyCache(HOT_MAPS*mapBytes);
+        LuovVerifier verifier = new LuovVerifier(cache);
+        long baseline = usedMemory();
+        AtomicLong peak = new AtomicLong();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 0,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>()) {
+            @Override
+            protected void afterExecute(Runnable task, Throwable error) {
+                peak.accumulateAndGet(usedMemory(), Math::max);
+            }
+        };
+        boolean[] results;
+        try {
+            results = verifier.verifyBatch(requests, executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue("Hot tier over budget", cache.getHotBytes() <= cache.getMaxHotBytes());
+        assertTrue("Hot tier never evicted", cache.getEvictionCount() > 0);
+        assertTrue("Batch kept too many public maps",
+                peak.get() - baseline < KEYS/2*mapBytes);
+
+        LuovVerifier reference = new LuovVerifier();
+        boolean[] expected = new boolean[requests.size()];
+        for (PublicKey key : keys) {
+            for (int i = 0; i < requests.size(); i++) {
+                VerificationRequest request = requests.get(i);
+                if (request.getPublicKey() == key) {
+                    expected[i] = reference.verify(key, request.getMessage(),
+                            request.getSignature());
+                }
+            }
+        }
+        assertArrayEquals(expected, results);
+        assertTrue("Valid signature rejected", results[0]);
+    }
+
+    /**
+     * Generates a Public Key with a Random Seed and Q2.
+     * @param random Random Generator.
+     * @return Public Key of LUOV Cryptosystem.
+     */
+    private static PublicKey randomPublicKey(Random random) {
+        byte[] seed = new byte[PublicKey.SEED_LENGTH];
+        random.nextBytes(seed);
+        byte[] Q2 = new byte[PublicKey.Q2_LENGTH];
+        for (int i = 0; i < Q2.length; i++) {
+            Q2[i] = (byte) random.nextInt(128);
+        }
+        return new PublicKey(seed, Q2);
+    }
+
+    /**
+     * Get the Heap in Use after a Garbage Collection.
+     * @return Used Heap Bytes.
+     */
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
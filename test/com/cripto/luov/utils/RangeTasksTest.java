@@ -0,0 +1,108 @@
+package com.cripto.luov.utils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Range Tasks Tests.
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public class RangeTasksTest {
+
+    private static final int LENGTH = 64*Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The submitted chunks are cancelled when the executor rejects a chunk,
+     * here once the first chunk is running.
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void rejectedChunkCancelsSubmittedOnes() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ExecutorService executor = new ThreadPoolExecutor(1, 1, 0,
+                TimeUnit.SECONDS, new SynchronousQueue<>(), (task, pool) -> {
+                    await(started);
+                    throw new RejectedExecutionException("Pool full");
+                });
+        try {
+            RangeTasks.run(executor, LENGTH, (from, to) -> block(started, interrupted));
+            fail("RejectedExecutionException expected");
+        } catch (RejectedExecutionException e) {
+            assertTrue("Submitted chunk kept running",
+                    interrupted.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The submitted chunks are cancelled when the waiting thread is
+     * interrupted.
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void interruptedWaitCancelsChunks() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicReference<Exception> thrown = new AtomicReference<>();
+        Thread caller = new Thread(() -> {
+            try {
+                RangeTasks.run(executor, LENGTH, (from, to) -> block(started, interrupted));
+            } catch (Exception e) {
+                thrown.set(e);
+            }
+        });
+        try {
+            caller.start();
+            assertTrue("Chunk never started", started.await(10, TimeUnit.SECONDS));
+            caller.interrupt();
+            caller.join(10000);
+            assertTrue("Interrupt not thrown", thrown.get() instanceof InterruptedException);
+            assertTrue("Submitted chunk kept running",
+                    interrupted.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Wait until a Chunk Starts.
+     * @param started Counted Down when the Chunk Starts.
+     */
+    private static void await(CountDownLatch started) {
+        try {
+            started.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Block a Chunk until it is Interrupted.
+     * @param started Counted Down when the Chunk Starts.
+     * @param interrupted Counted Down when the Chunk is Interrupted.
+     */
+    private static void block(CountDownLatch started, CountDownLatch interrupted) {
+        started.countDown();
+        try {
+            Thread.sleep(60000);
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.cripto.utils.functions;
+
+import com.cripto.luov.utils.LuovParameters;
+import com.cripto.luov.utils.Signature;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Hex Packing Tests.
+ * @author Eduardo Angulo
+ * @author Sebastián Cabarcas
+ * @author Andrés Duarte
+ * @author Jorge Pinzón
+ */
+public class PackTest {
+
+    /**
+     * Hex strings of the exact length round trip.
+     */
+    @Test
+    public void roundTrip() {
+        byte[] data = {0, 1, 0x7F, 0x2A};
+        String hex = Pack.toHex(data);
+        assertEquals("00017f2a", hex);
+        assertArrayEquals(data, Pack.fromHex(hex, data.length));
+        assertArrayEquals(new int[] {0, 1, 0x7F, 0x2A}, Pack.unpack("00017F2A", 4));
+    }
+
+    /**
+     * A character that is not a hex digit is rejected.
+     */
+    @Test
+    public void invalidDigit() {
+        expectInvalid(() -> Pack.fromHex("00g1", 2));
+        expectInvalid(() -> Pack.unpack("0-01", 2));
+        expectInvalid(() -> Pack.unpack("0001 2", 1, 3));
+    }
+
+    /**
+     * A string shorter or longer than the expected bytes is rejected.
+     */
+    @Test
+    public void wrongLength() {
+        expectInvalid(() -> Pack.fromHex("000102", 2));
+        expectInvalid(() -> Pack.fromHex("00", 2));
+        expectInvalid(() -> Pack.unpack("000102", 2));
+        expectInvalid(() -> Pack.unpack("0001", 2, 2));
+    }
+
+    /**
+     * A signature with trailing data after s is rejected.
+     */
+    @Test
+    public void signatureWithTrailingData() {
+        Signature sign = new Signature(new byte[LuovParameters.DEFAULT.getN()],
+                new byte[Signature.SALT_LENGTH]);
+        new Signature(sign.getS(), sign.getSalt());
+        expectInvalid(() -> new Signature(sign.getS() + "0000", sign.getSalt()));
+    }
+
+    /**
+     * Check that an Action throws IllegalArgumentException.
+     * @param action Action to Run.
+     */
+    private static void expectInvalid(Runnable action) {
+        try {
+            action.run();
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            // Expected.
+        }
+    }
+
+}